@@ -0,0 +1,118 @@
+package com.company.benchmark;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Runs JMH with the usual command line and the gc profiler on by default, then prints
+// the time per cell across the grid sizes for the benchmarks whose operation covers a whole
+// maze. Neighbour lookups and rendering do a fixed amount of work per operation, so their
+// scores are already comparable between sizes.
+//
+//   mvn install                                  (from the project root)
+//   mvn -f benchmarks/pom.xml package
+//   java -jar benchmarks/target/benchmarks.jar [JMH options, e.g. Generation -p size=1024]
+public class BenchmarkMain {
+
+    private static final String SIZE = "size";
+    private static final List<String> PER_MAZE = Arrays.asList(
+            GenerationBenchmark.class.getName(), SolvingBenchmark.class.getName());
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions options = new CommandLineOptions(args);
+        if (options.shouldHelp()) {
+            options.showHelp();
+            return;
+        }
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(options);
+        if (options.getProfilers().isEmpty()) {
+            builder.addProfiler(GCProfiler.class);
+        }
+        Runner runner = new Runner(builder.build());
+        if (options.shouldList()) {
+            runner.list();
+            return;
+        }
+        printScaling(runner.run());
+    }
+
+    private static void printScaling(Collection<RunResult> results) {
+        Map<String, List<RunResult>> series = new TreeMap<>();
+        for (RunResult result : results) {
+            BenchmarkParams params = result.getParams();
+            if (params.getParam(SIZE) != null && isPerMaze(params.getBenchmark())) {
+                series.computeIfAbsent(seriesName(params), k -> new ArrayList<>()).add(result);
+            }
+        }
+        if (series.isEmpty()) {
+            return;
+        }
+        System.out.println();
+        System.out.println("Scaling, ns per cell:");
+        for (Map.Entry<String, List<RunResult>> entry : series.entrySet()) {
+            StringBuilder line = new StringBuilder(entry.getKey());
+            for (RunResult result : entry.getValue()) {
+                int size = Integer.parseInt(result.getParams().getParam(SIZE));
+                double perCell = nanosPerOp(result.getPrimaryResult()) / ((double) size * size);
+                line.append(String.format("  %d^2: %.2f", size, perCell));
+            }
+            System.out.println(line);
+        }
+    }
+
+    // Benchmark names are the class name followed by the method name.
+    private static boolean isPerMaze(String benchmark) {
+        return PER_MAZE.contains(benchmark.substring(0, benchmark.lastIndexOf('.')));
+    }
+
+    private static String seriesName(BenchmarkParams params) {
+        StringBuilder name = new StringBuilder(params.getBenchmark().replaceFirst("^.*\\.benchmark\\.", ""));
+        for (String key : params.getParamsKeys()) {
+            if (!SIZE.equals(key)) {
+                name.append(' ').append(key).append('=').append(params.getParam(key));
+            }
+        }
+        return name.toString();
+    }
+
+    // Score units look like "us/op" for average time and "ops/ms" for throughput.
+    private static double nanosPerOp(Result<?> result) {
+        String[] unit = result.getScoreUnit().split("/");
+        if (unit[0].equals("ops")) {
+            return nanos(unit[1]) / result.getScore();
+        }
+        return result.getScore() * nanos(unit[0]);
+    }
+
+    private static double nanos(String unit) {
+        switch (unit) {
+            case "ns":
+                return 1;
+            case "us":
+                return 1e3;
+            case "ms":
+                return 1e6;
+            case "s":
+                return 1e9;
+            case "min":
+                return 60e9;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown time unit: %s", unit));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.company.benchmark;
+
+import com.company.generator.GeneratorProvider;
+import com.company.generator.Generators;
+import com.company.model.MazeGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// A whole maze per operation, grid allocation included, as the GUI does it. Aldous-Broder
+// is left out of the defaults since its cover time makes 4096x4096 take minutes; add it
+// with -p generator=aldous-broder.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class GenerationBenchmark {
+
+    @Param({"17", "64", "256", "1024", "4096"})
+    private int size;
+
+    @Param({"prim", "parallel-prim", "kruskal", "backtracker", "eller", "binary-tree", "sidewinder", "wilson"})
+    private String generator;
+
+    private GeneratorProvider provider;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        provider = Generators.get(generator);
+    }
+
+    @Benchmark
+    public MazeGrid generate() {
+        MazeGrid grid = new MazeGrid(size, size);
+        provider.create(grid, 0, seed++).run();
+        return grid;
+    }
+}
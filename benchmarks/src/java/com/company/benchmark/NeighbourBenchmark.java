@@ -0,0 +1,61 @@
+package com.company.benchmark;
+
+import com.company.generator.Generators;
+import com.company.gui.Cell;
+import com.company.model.MazeGrid;
+import com.company.model.Neighbours;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Open-neighbour lookup through the GUI's Cell objects against the packed lookup the
+// engines use. Cells are visited with a large odd stride, which touches every cell of a
+// power-of-two grid in a cache-unfriendly order, so the larger grids show memory effects.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NeighbourBenchmark {
+
+    private static final int STRIDE = 1_000_003;
+
+    @Param({"17", "64", "256", "1024", "4096"})
+    private int size;
+
+    private final int[] buffer = new int[Neighbours.MAX];
+    private MazeGrid grid;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        grid = Generators.get("prim").create(new MazeGrid(size, size), 0, 42).generate();
+    }
+
+    @Benchmark
+    public List<Cell> cellNeighbours() {
+        return new Cell(grid, next()).getValidMoveNeighbours();
+    }
+
+    @Benchmark
+    public int packedNeighbours() {
+        return Neighbours.open(grid, next(), buffer);
+    }
+
+    private int next() {
+        cursor = (int) ((cursor + (long) STRIDE) % grid.size());
+        return cursor;
+    }
+}
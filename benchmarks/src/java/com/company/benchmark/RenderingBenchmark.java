@@ -0,0 +1,76 @@
+package com.company.benchmark;
+
+import com.company.generator.Generators;
+import com.company.gui.MainFrame;
+import com.company.gui.MazeGridPanel;
+import com.company.gui.MazeSession;
+import com.company.model.MazeGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+// Paints the maze panel into an offscreen image at the size MainFrame gives it.
+// firstFrame builds a fresh panel, so its wall layer or raster is rendered from scratch;
+// repaint paints the same panel again and measures the cached path.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderingBenchmark {
+
+    @Param({"17", "64", "256", "1024", "4096"})
+    private int size;
+
+    private MazeGrid grid;
+    private MazeSession session;
+    private MazeGridPanel panel;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    @Setup
+    public void setUp() {
+        grid = Generators.get("prim").create(new MazeGrid(size, size), 0, 42).generate();
+        session = new MazeSession(size, size, MazeSession.State.GENERATED);
+        image = new BufferedImage(MainFrame.WIDTH, MainFrame.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        graphics = image.createGraphics();
+        panel = newPanel();
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage firstFrame() {
+        newPanel().paint(graphics);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage repaint() {
+        panel.paint(graphics);
+        return image;
+    }
+
+    private MazeGridPanel newPanel() {
+        MazeGridPanel panel = new MazeGridPanel(grid, 0, grid.size() - 1, session);
+        panel.setSize(MainFrame.WIDTH, MainFrame.HEIGHT);
+        return panel;
+    }
+}
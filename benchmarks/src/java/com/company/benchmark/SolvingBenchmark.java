@@ -0,0 +1,57 @@
+package com.company.benchmark;
+
+import com.company.generator.Generators;
+import com.company.model.MazeGrid;
+import com.company.solver.AbstractSolver;
+import com.company.solver.Solvers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Solves one fixed maze corner to corner per operation. The maze comes from a fixed seed,
+// so every solver and every run sees the same layout. The solver and its arrays are built
+// once, as a reset is all a re-solve costs.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SolvingBenchmark {
+
+    private static final long SEED = 42;
+
+    @Param({"17", "64", "256", "1024", "4096"})
+    private int size;
+
+    @Param({"prim", "backtracker"})
+    private String maze;
+
+    @Param({"lee", "bidirectional-lee", "a-star", "greedy-best-first", "parallel-lee"})
+    private String solver;
+
+    private MazeGrid grid;
+    private AbstractSolver engine;
+
+    @Setup
+    public void setUp() {
+        grid = Generators.get(maze).create(new MazeGrid(size, size), 0, SEED).generate();
+        engine = Solvers.get(solver).create(grid);
+    }
+
+    @Benchmark
+    public int solve() {
+        engine.reset(0, grid.size() - 1);
+        return engine.solve();
+    }
+}
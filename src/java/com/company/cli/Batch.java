@@ -0,0 +1,156 @@
+package com.company.cli;
+
+import com.company.engine.EngineProvider;
+import com.company.generator.GeneratorProvider;
+import com.company.generator.Generators;
+import com.company.generator.StreamingGeneratorProvider;
+import com.company.io.MazeFile;
+import com.company.model.MazeGrid;
+import com.company.solver.AbstractSolver;
+import com.company.solver.SolverProvider;
+import com.company.solver.Solvers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Generates mazes without a display. Independent mazes run on a fixed pool, one maze per
+// task; results are printed in maze order as they become available. Every maze starts in
+// the top left corner and ends in the bottom right one.
+public class Batch {
+
+    private final BatchOptions options;
+    private final GeneratorProvider generator;
+    private final SolverProvider solver;
+    private final PrintStream log;
+
+    public Batch(BatchOptions options, PrintStream log) {
+        this.options = options;
+        this.log = log;
+        generator = Generators.get(options.getGenerator());
+        if ((long) options.getWidth() * options.getHeight() > generator.getMaxCells()) {
+            throw new IllegalArgumentException(String.format("Maze too large for %s: %dx%d, at most %d cells",
+                    generator.getId(), options.getWidth(), options.getHeight(), generator.getMaxCells()));
+        }
+        solver = options.getSolver() != null ? Solvers.get(options.getSolver()) : null;
+    }
+
+    public static void main(String[] args) {
+        BatchOptions options;
+        try {
+            options = BatchOptions.parse(args);
+            if (options.isHelp()) {
+                System.out.println(BatchOptions.USAGE);
+                return;
+            }
+            if (options.isList()) {
+                list();
+                return;
+            }
+            new Batch(options, System.out).run();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(BatchOptions.USAGE);
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static void list() {
+        System.out.println("Generators:");
+        for (EngineProvider provider : Generators.all()) {
+            System.out.printf("  %-20s %s%n", provider.getId(), provider.getName());
+        }
+        System.out.println("Solvers:");
+        for (EngineProvider provider : Solvers.all()) {
+            System.out.printf("  %-20s %s%n", provider.getId(), provider.getName());
+        }
+    }
+
+    public void run() throws IOException {
+        if (options.getOut() != null) {
+            Files.createDirectories(options.getOut());
+        }
+        int threads = Math.min(options.getThreads(), options.getCount());
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long startedAt = System.nanoTime();
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < options.getCount(); i++) {
+                int index = i;
+                results.add(pool.submit(() -> build(index)));
+            }
+            for (Future<String> result : results) {
+                log.println(result.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        log.printf("%d mazes in %.2f s on %d threads, %.1f mazes/s%n",
+                options.getCount(), seconds, threads, options.getCount() / seconds);
+    }
+
+    private String build(int index) throws IOException {
+        int width = options.getWidth();
+        int height = options.getHeight();
+        int start = 0;
+        int goal = width * height - 1;
+        long seed = options.getSeed() + index;
+        Path file = options.getOut() != null ? options.getOut().resolve(String.format("maze-%05d.maze", index)) : null;
+        StringBuilder line = new StringBuilder(String.format("maze %d: %s %dx%d seed %d", index, generator.getId(),
+                width, height, seed));
+
+        // Streaming generators can write their rows straight to the file without building the grid.
+        if (file != null && solver == null && generator instanceof StreamingGeneratorProvider) {
+            long startedAt = System.nanoTime();
+            try (OutputStream out = Files.newOutputStream(file)) {
+                ((StreamingGeneratorProvider) generator).create(width, height, start, goal, seed, out).run();
+            }
+            return line.append(String.format(", generated and written %.1f ms, %s",
+                    millis(startedAt), file.getFileName())).toString();
+        }
+
+        long startedAt = System.nanoTime();
+        MazeGrid grid = new MazeGrid(width, height);
+        generator.create(grid, start, seed).run();
+        line.append(String.format(", generated %.1f ms", millis(startedAt)));
+
+        if (solver != null) {
+            startedAt = System.nanoTime();
+            AbstractSolver engine = solver.create(grid);
+            engine.reset(start, goal);
+            int length = engine.solve();
+            line.append(String.format(", %s %.1f ms, path %d, expanded %d", solver.getId(), millis(startedAt),
+                    length, engine.getExpanded()));
+        }
+        if (file != null) {
+            startedAt = System.nanoTime();
+            new MazeFile(grid, start, goal).write(file);
+            line.append(String.format(", written %.1f ms, %s", millis(startedAt), file.getFileName()));
+        }
+        return line.toString();
+    }
+
+    private static double millis(long startedAt) {
+        return (System.nanoTime() - startedAt) / 1e6;
+    }
+}
@@ -0,0 +1,145 @@
+package com.company.cli;
+
+import com.company.generator.GenerationAlgorithm;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+public class BatchOptions {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: java com.company.gui.MainFrame [options]",
+            "  --count N        number of mazes (default 1)",
+            "  --size WxH       maze size in cells, or a single number for a square (default 17)",
+            "  --generator ID   generator provider id (default " + GenerationAlgorithm.PRIM.getId() + ")",
+            "  --solver ID      also solve every maze corner to corner with this solver",
+            "  --seed S         seed of the first maze, maze i uses S + i (default random)",
+            "  --out DIR        write every maze to DIR/maze-NNNNN.maze",
+            "  --threads T      mazes generated at once (default: number of cores)",
+            "  --list           print the available generators and solvers",
+            "  --help           print this message");
+
+    private int count = 1;
+    private int width = 17;
+    private int height = 17;
+    private String generator = GenerationAlgorithm.PRIM.getId();
+    private String solver;
+    private long seed = new Random().nextLong();
+    private Path out;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private boolean list;
+    private boolean help;
+
+    public static BatchOptions parse(String[] args) {
+        BatchOptions options = new BatchOptions();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            switch (name) {
+                case "--list":
+                    options.list = true;
+                    continue;
+                case "--help":
+                    options.help = true;
+                    continue;
+                default:
+                    break;
+            }
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException(String.format("Missing value for %s", name));
+            }
+            String value = args[++i];
+            switch (name) {
+                case "--count":
+                    options.count = positive(name, value);
+                    break;
+                case "--size":
+                    options.parseSize(value);
+                    break;
+                case "--generator":
+                    options.generator = value;
+                    break;
+                case "--solver":
+                    options.solver = value;
+                    break;
+                case "--seed":
+                    options.seed = number(name, value);
+                    break;
+                case "--out":
+                    options.out = Paths.get(value);
+                    break;
+                case "--threads":
+                    options.threads = positive(name, value);
+                    break;
+                default:
+                    throw new IllegalArgumentException(String.format("Unknown option: %s", name));
+            }
+        }
+        return options;
+    }
+
+    private void parseSize(String value) {
+        int x = value.indexOf('x');
+        width = positive("--size", x < 0 ? value : value.substring(0, x));
+        height = positive("--size", x < 0 ? value : value.substring(x + 1));
+        if ((long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("Invalid maze size: %dx%d", width, height));
+        }
+    }
+
+    private static long number(String name, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Invalid value for %s: %s", name, value));
+        }
+    }
+
+    private static int positive(String name, String value) {
+        long number = number(name, value);
+        if (number <= 0 || number > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("Invalid value for %s: %s", name, value));
+        }
+        return (int) number;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public String getGenerator() {
+        return generator;
+    }
+
+    public String getSolver() {
+        return solver;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Path getOut() {
+        return out;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public boolean isList() {
+        return list;
+    }
+
+    public boolean isHelp() {
+        return help;
+    }
+}
@@ -0,0 +1,13 @@
+package com.company.engine;
+
+public interface EngineListener {
+
+    EngineListener NONE = new EngineListener() {
+    };
+
+    default void stepped(int cell) {
+    }
+
+    default void finished() {
+    }
+}
@@ -0,0 +1,8 @@
+package com.company.engine;
+
+public interface EngineProvider {
+
+    String getId();
+
+    String getName();
+}
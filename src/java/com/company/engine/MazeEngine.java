@@ -0,0 +1,22 @@
+package com.company.engine;
+
+public interface MazeEngine {
+
+    boolean step();
+
+    boolean isFinished();
+
+    int getCurrent();
+
+    void setListener(EngineListener listener);
+
+    // Cells waiting to be processed, such as Prim's frontier or Lee's queue.
+    default int getPending() {
+        return 0;
+    }
+
+    default void run() {
+        while (step()) {
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.company.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+
+// Providers registered under META-INF/services, in the order the class path lists them.
+public class ProviderRegistry<P extends EngineProvider> {
+
+    private final List<P> providers;
+
+    public ProviderRegistry(Class<P> type) {
+        List<P> loaded = new ArrayList<>();
+        for (P provider : ServiceLoader.load(type)) {
+            loaded.add(provider);
+        }
+        providers = Collections.unmodifiableList(loaded);
+    }
+
+    public List<P> all() {
+        return providers;
+    }
+
+    public P get(String id) {
+        for (P provider : providers) {
+            if (provider.getId().equals(id)) {
+                return provider;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Unknown provider: %s", id));
+    }
+}
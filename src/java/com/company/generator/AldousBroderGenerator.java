@@ -0,0 +1,95 @@
+package com.company.generator;
+
+import com.company.engine.EngineListener;
+import com.company.model.MazeGrid;
+import com.company.model.Neighbours;
+
+import java.util.Random;
+
+// Random walk that carves into every cell it enters for the first time. Produces a
+// uniform spanning tree but needs the walk to cover the whole grid, so it is slow to finish.
+public class AldousBroderGenerator implements MazeGenerator {
+
+    private final MazeGrid grid;
+    private final int[] neighbours = new int[Neighbours.MAX];
+    private final Random random;
+    private EngineListener listener = EngineListener.NONE;
+    private int current;
+    private int remaining;
+
+    public AldousBroderGenerator(MazeGrid grid, int start) {
+        this(grid, start, new Random());
+    }
+
+    public AldousBroderGenerator(MazeGrid grid, int start, long seed) {
+        this(grid, start, new Random(seed));
+    }
+
+    private AldousBroderGenerator(MazeGrid grid, int start, Random random) {
+        this.grid = grid;
+        this.random = random;
+        grid.setVisited(start, true);
+        current = start;
+        remaining = grid.size() - 1;
+    }
+
+    @Override
+    public MazeGrid generate() {
+        run();
+        return grid;
+    }
+
+    @Override
+    public boolean step() {
+        if (current == -1) {
+            return false;
+        }
+        if (remaining == 0) {
+            current = -1;
+            listener.finished();
+            return false;
+        }
+        int count = Neighbours.all(grid, current, neighbours);
+        int next = neighbours[random.nextInt(count)];
+        if (!grid.isVisited(next)) {
+            grid.removeWalls(current, next);
+            grid.setVisited(next, true);
+            remaining--;
+        }
+        current = next;
+        listener.stepped(current);
+        return true;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return current == -1;
+    }
+
+    @Override
+    public int getCurrent() {
+        return current;
+    }
+
+    @Override
+    public double getProgress() {
+        return (double) (grid.size() - remaining) / grid.size();
+    }
+
+    @Override
+    public void setListener(EngineListener listener) {
+        this.listener = listener;
+    }
+
+    public static class Provider extends BuiltInGeneratorProvider {
+
+        public Provider() {
+            super(GenerationAlgorithm.ALDOUS_BRODER);
+        }
+
+        @Override
+        public MazeGenerator create(MazeGrid grid, int start, long seed) {
+            return new AldousBroderGenerator(grid, start, seed);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.company.generator;
+
+import com.company.engine.EngineListener;
+import com.company.model.MazeGrid;
+import com.company.model.Neighbours;
+
+import java.util.Random;
+
+// Depth-first recursive backtracker without recursion: the path back to the start is kept
+// in an int stack sized for the whole grid, visited cells in the grid's own bit set.
+// Gives the long winding corridors of the classic DFS maze on grids of any size.
+public class BacktrackerGenerator implements MazeGenerator {
+
+    private final MazeGrid grid;
+    private final int[] stack;
+    private final int[] neighbours = new int[Neighbours.MAX];
+    private final Random random;
+    private EngineListener listener = EngineListener.NONE;
+    private int top;
+    private int current;
+    private int carved;
+
+    public BacktrackerGenerator(MazeGrid grid, int start) {
+        this(grid, start, new Random());
+    }
+
+    public BacktrackerGenerator(MazeGrid grid, int start, long seed) {
+        this(grid, start, new Random(seed));
+    }
+
+    private BacktrackerGenerator(MazeGrid grid, int start, Random random) {
+        this.grid = grid;
+        this.random = random;
+        stack = new int[grid.size()];
+        stack[top++] = start;
+        grid.setVisited(start, true);
+        current = start;
+        carved = 1;
+    }
+
+    @Override
+    public MazeGrid generate() {
+        run();
+        return grid;
+    }
+
+    // One step either carves into an unvisited neighbour or backs up one cell.
+    @Override
+    public boolean step() {
+        if (current == -1) {
+            return false;
+        }
+        if (top == 0) {
+            current = -1;
+            listener.finished();
+            return false;
+        }
+        int cell = stack[top - 1];
+        int count = Neighbours.unvisited(grid, cell, neighbours);
+        if (count > 0) {
+            int next = neighbours[random.nextInt(count)];
+            grid.removeWalls(cell, next);
+            grid.setVisited(next, true);
+            carved++;
+            stack[top++] = next;
+            current = next;
+        } else {
+            top--;
+            current = top > 0 ? stack[top - 1] : cell;
+        }
+        listener.stepped(current);
+        return true;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return current == -1;
+    }
+
+    @Override
+    public int getCurrent() {
+        return current;
+    }
+
+    @Override
+    public int getPending() {
+        return top;
+    }
+
+    @Override
+    public double getProgress() {
+        return (double) carved / grid.size();
+    }
+
+    @Override
+    public void setListener(EngineListener listener) {
+        this.listener = listener;
+    }
+
+    public static class Provider extends BuiltInGeneratorProvider {
+
+        public Provider() {
+            super(GenerationAlgorithm.BACKTRACKER);
+        }
+
+        @Override
+        public MazeGenerator create(MazeGrid grid, int start, long seed) {
+            return new BacktrackerGenerator(grid, start, seed);
+        }
+    }
+}
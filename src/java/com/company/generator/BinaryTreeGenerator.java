@@ -0,0 +1,102 @@
+package com.company.generator;
+
+import com.company.engine.EngineListener;
+import com.company.model.MazeGrid;
+
+import java.util.Random;
+
+import static com.company.model.MazeGrid.LEFT;
+import static com.company.model.MazeGrid.TOP;
+
+// Visits the cells in index order and opens each one to the top or to the left, so it
+// needs no memory beyond the grid. The top row and left column become straight corridors.
+public class BinaryTreeGenerator implements MazeGenerator {
+
+    private final MazeGrid grid;
+    private final Random random;
+    private EngineListener listener = EngineListener.NONE;
+    private int next;
+    private int current = -1;
+    private boolean finished;
+
+    public BinaryTreeGenerator(MazeGrid grid) {
+        this(grid, new Random());
+    }
+
+    public BinaryTreeGenerator(MazeGrid grid, long seed) {
+        this(grid, new Random(seed));
+    }
+
+    private BinaryTreeGenerator(MazeGrid grid, Random random) {
+        this.grid = grid;
+        this.random = random;
+    }
+
+    @Override
+    public MazeGrid generate() {
+        run();
+        return grid;
+    }
+
+    @Override
+    public boolean step() {
+        if (finished) {
+            return false;
+        }
+        if (next == grid.size()) {
+            finished = true;
+            current = -1;
+            listener.finished();
+            return false;
+        }
+        current = next++;
+        carve(current);
+        listener.stepped(current);
+        return true;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public int getCurrent() {
+        return current;
+    }
+
+    @Override
+    public double getProgress() {
+        return (double) next / grid.size();
+    }
+
+    @Override
+    public void setListener(EngineListener listener) {
+        this.listener = listener;
+    }
+
+    private void carve(int cell) {
+        boolean top = cell >= grid.getWidth();
+        boolean left = grid.x(cell) > 0;
+        if (top && left) {
+            grid.removeWall(cell, random.nextBoolean() ? TOP : LEFT);
+        } else if (top) {
+            grid.removeWall(cell, TOP);
+        } else if (left) {
+            grid.removeWall(cell, LEFT);
+        }
+        grid.setVisited(cell, true);
+    }
+
+    public static class Provider extends BuiltInGeneratorProvider {
+
+        public Provider() {
+            super(GenerationAlgorithm.BINARY_TREE);
+        }
+
+        @Override
+        public MazeGenerator create(MazeGrid grid, int start, long seed) {
+            return new BinaryTreeGenerator(grid, seed);
+        }
+    }
+}
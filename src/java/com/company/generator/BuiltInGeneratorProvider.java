@@ -0,0 +1,20 @@
+package com.company.generator;
+
+public abstract class BuiltInGeneratorProvider implements GeneratorProvider {
+
+    private final GenerationAlgorithm algorithm;
+
+    protected BuiltInGeneratorProvider(GenerationAlgorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    @Override
+    public String getId() {
+        return algorithm.getId();
+    }
+
+    @Override
+    public String getName() {
+        return algorithm.toString();
+    }
+}
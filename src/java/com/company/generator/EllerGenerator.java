@@ -0,0 +1,273 @@
+package com.company.generator;
+
+import com.company.engine.EngineListener;
+import com.company.io.MazeFileWriter;
+import com.company.io.RowSink;
+import com.company.model.MazeGrid;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.company.model.MazeGrid.BOTTOM;
+import static com.company.model.MazeGrid.LEFT;
+import static com.company.model.MazeGrid.RIGHT;
+import static com.company.model.MazeGrid.TOP;
+
+// Eller's algorithm: every step carves one row and writes it out, keeping only the set
+// membership of the current row, so memory stays O(width) whatever the height. Rows go
+// either to a stream in the MazeFile format or straight into a grid.
+public class EllerGenerator implements MazeGenerator {
+
+    private static final int TOP_MASK = 1 << TOP;
+    private static final int RIGHT_MASK = 1 << RIGHT;
+    private static final int BOTTOM_MASK = 1 << BOTTOM;
+    private static final int LEFT_MASK = 1 << LEFT;
+
+    private final int width;
+    private final int height;
+    private final MazeGrid grid;
+    private final RowSink out;
+    private final Random random;
+    // Set labels of the current row, -1 for cells not yet joined from above.
+    private final int[] sets;
+    private final int[] parent;
+    private final int[] labels;
+    private final int[] last;
+    private final int[] masks;
+    private final boolean[] joined;
+    private final boolean[] down;
+    private final boolean[] hasDown;
+    private EngineListener listener = EngineListener.NONE;
+    private int row;
+    private boolean finished;
+    private long randomBits;
+    private int randomBitsLeft;
+
+    public EllerGenerator(int width, int height, int start, int goal, OutputStream out) throws IOException {
+        this(null, width, height, new MazeFileWriter(out, width, height, start, goal), new Random());
+    }
+
+    public EllerGenerator(int width, int height, int start, int goal, long seed, OutputStream out) throws IOException {
+        this(null, width, height, new MazeFileWriter(out, width, height, start, goal), new Random(seed));
+    }
+
+    public EllerGenerator(MazeGrid grid) {
+        this(grid, new Random());
+    }
+
+    public EllerGenerator(MazeGrid grid, long seed) {
+        this(grid, new Random(seed));
+    }
+
+    private EllerGenerator(MazeGrid grid, Random random) {
+        this(grid, grid.getWidth(), grid.getHeight(), new GridSink(grid), random);
+    }
+
+    private EllerGenerator(MazeGrid grid, int width, int height, RowSink out, Random random) {
+        this.grid = grid;
+        this.out = out;
+        this.width = width;
+        this.height = height;
+        this.random = random;
+        sets = new int[width];
+        parent = new int[width];
+        labels = new int[width];
+        last = new int[width];
+        masks = new int[width];
+        joined = new boolean[width];
+        down = new boolean[width];
+        hasDown = new boolean[width];
+        Arrays.fill(sets, -1);
+    }
+
+    // Returns the grid the rows were carved into, or null when they were streamed out.
+    @Override
+    public MazeGrid generate() {
+        run();
+        return grid;
+    }
+
+    @Override
+    public boolean step() {
+        if (finished) {
+            return false;
+        }
+        try {
+            if (row == height) {
+                out.finish();
+                finished = true;
+                listener.finished();
+                return false;
+            }
+            nextRow();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        row++;
+        listener.stepped(getCurrent());
+        return true;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public int getCurrent() {
+        return -1;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    @Override
+    public double getProgress() {
+        return (double) row / height;
+    }
+
+    @Override
+    public void setListener(EngineListener listener) {
+        this.listener = listener;
+    }
+
+    private void nextRow() throws IOException {
+        boolean lastRow = row == height - 1;
+        relabel();
+
+        for (int x = 0; x < width - 1; x++) {
+            int a = find(sets[x]);
+            int b = find(sets[x + 1]);
+            joined[x] = a != b && (lastRow || nextBit());
+            if (joined[x]) {
+                parent[b] = a;
+            }
+        }
+        for (int x = 0; x < width; x++) {
+            sets[x] = find(sets[x]);
+        }
+
+        // Every set must continue downwards through at least one cell; the last cell of a
+        // set is forced down when none of the earlier ones went.
+        if (!lastRow) {
+            for (int x = 0; x < width; x++) {
+                last[sets[x]] = x;
+                hasDown[sets[x]] = false;
+            }
+            for (int x = 0; x < width; x++) {
+                int set = sets[x];
+                down[x] = nextBit() || (last[set] == x && !hasDown[set]);
+                if (down[x]) {
+                    hasDown[set] = true;
+                }
+            }
+        }
+
+        for (int x = 0; x < width; x++) {
+            int mask = 0;
+            if (row == 0 || (masks[x] & BOTTOM_MASK) != 0) {
+                mask |= TOP_MASK;
+            }
+            if (x == width - 1 || !joined[x]) {
+                mask |= RIGHT_MASK;
+            }
+            if (lastRow || !down[x]) {
+                mask |= BOTTOM_MASK;
+                sets[x] = -1;
+            }
+            if (x == 0 || !joined[x - 1]) {
+                mask |= LEFT_MASK;
+            }
+            masks[x] = mask;
+        }
+        out.writeRow(masks);
+    }
+
+    // Compacts the labels carried down from the previous row into 0..k-1 and gives every
+    // new cell a set of its own, so labels always index the width-sized arrays.
+    private void relabel() {
+        Arrays.fill(labels, -1);
+        int count = 0;
+        for (int x = 0; x < width; x++) {
+            if (sets[x] >= 0) {
+                if (labels[sets[x]] < 0) {
+                    labels[sets[x]] = count++;
+                }
+                sets[x] = labels[sets[x]];
+            }
+        }
+        for (int x = 0; x < width; x++) {
+            if (sets[x] < 0) {
+                sets[x] = count++;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            parent[i] = i;
+        }
+    }
+
+    // Two coin flips per cell dominate the run time, so they are drawn 64 at a time.
+    private boolean nextBit() {
+        if (randomBitsLeft == 0) {
+            randomBits = random.nextLong();
+            randomBitsLeft = 64;
+        }
+        randomBitsLeft--;
+        boolean bit = (randomBits & 1) != 0;
+        randomBits >>>= 1;
+        return bit;
+    }
+
+    private int find(int set) {
+        while (parent[set] != set) {
+            parent[set] = parent[parent[set]];
+            set = parent[set];
+        }
+        return set;
+    }
+
+    private static class GridSink implements RowSink {
+
+        private final MazeGrid grid;
+        private int row;
+
+        GridSink(MazeGrid grid) {
+            this.grid = grid;
+        }
+
+        @Override
+        public void writeRow(int[] masks) {
+            int cell = grid.index(0, row++);
+            for (int mask : masks) {
+                grid.setWallMask(cell, mask);
+                grid.setVisited(cell++, true);
+            }
+        }
+
+        @Override
+        public void finish() {
+        }
+    }
+
+    public static class Provider extends BuiltInGeneratorProvider implements StreamingGeneratorProvider {
+
+        public Provider() {
+            super(GenerationAlgorithm.ELLER);
+        }
+
+        @Override
+        public MazeGenerator create(MazeGrid grid, int start, long seed) {
+            return new EllerGenerator(grid, seed);
+        }
+
+        @Override
+        public MazeGenerator create(int width, int height, int start, int goal, long seed, OutputStream out)
+                throws IOException {
+            return new EllerGenerator(width, height, start, goal, seed, out);
+        }
+    }
+}
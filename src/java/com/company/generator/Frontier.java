@@ -0,0 +1,48 @@
+package com.company.generator;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+public class Frontier {
+
+    private final BitSet members;
+    private int[] cells = new int[16];
+    private int size;
+
+    public Frontier(int capacity) {
+        members = new BitSet(capacity);
+    }
+
+    public boolean add(int cell) {
+        if (members.get(cell)) {
+            return false;
+        }
+        members.set(cell);
+        if (size == cells.length) {
+            cells = Arrays.copyOf(cells, size * 2);
+        }
+        cells[size++] = cell;
+        return true;
+    }
+
+    public int removeRandom(Random random) {
+        int i = random.nextInt(size);
+        int cell = cells[i];
+        cells[i] = cells[--size];
+        members.clear(cell);
+        return cell;
+    }
+
+    public boolean contains(int cell) {
+        return members.get(cell);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+}
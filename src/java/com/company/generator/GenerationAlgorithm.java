@@ -2,14 +2,28 @@ package com.company.generator;
 
 public enum GenerationAlgorithm {
 
-    PRIM("Алгоритм Прима");
+    PRIM("prim", "Алгоритм Прима"),
+    PARALLEL_PRIM("parallel-prim", "Параллельный алгоритм Прима"),
+    ELLER("eller", "Алгоритм Эллера"),
+    BINARY_TREE("binary-tree", "Двоичное дерево"),
+    SIDEWINDER("sidewinder", "Сайдвиндер"),
+    ALDOUS_BRODER("aldous-broder", "Алгоритм Олдоса — Бродера"),
+    WILSON("wilson", "Алгоритм Уилсона"),
+    KRUSKAL("kruskal", "Алгоритм Краскала"),
+    BACKTRACKER("backtracker", "Поиск с возвратом");
 
+    private final String id;
     private final String alg;
 
-    GenerationAlgorithm(String alg) {
+    GenerationAlgorithm(String id, String alg) {
+        this.id = id;
         this.alg = alg;
     }
 
+    public String getId() {
+        return id;
+    }
+
     @Override
     public String toString() {
         return alg;
@@ -0,0 +1,14 @@
+package com.company.generator;
+
+import com.company.engine.EngineProvider;
+import com.company.model.MazeGrid;
+
+public interface GeneratorProvider extends EngineProvider {
+
+    MazeGenerator create(MazeGrid grid, int start, long seed);
+
+    // Largest grid, in cells, the generator can handle.
+    default long getMaxCells() {
+        return Integer.MAX_VALUE;
+    }
+}
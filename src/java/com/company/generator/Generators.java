@@ -0,0 +1,25 @@
+package com.company.generator;
+
+import com.company.engine.ProviderRegistry;
+
+import java.util.List;
+
+public final class Generators {
+
+    private static final ProviderRegistry<GeneratorProvider> REGISTRY = new ProviderRegistry<>(GeneratorProvider.class);
+
+    private Generators() {
+    }
+
+    public static List<GeneratorProvider> all() {
+        return REGISTRY.all();
+    }
+
+    public static GeneratorProvider get(String id) {
+        return REGISTRY.get(id);
+    }
+
+    public static GeneratorProvider get(GenerationAlgorithm algorithm) {
+        return REGISTRY.get(algorithm.getId());
+    }
+}
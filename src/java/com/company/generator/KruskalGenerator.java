@@ -0,0 +1,210 @@
+package com.company.generator;
+
+import com.company.engine.EngineListener;
+import com.company.model.MazeGrid;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.company.model.MazeGrid.BOTTOM;
+import static com.company.model.MazeGrid.RIGHT;
+
+// Removes inner walls in random order whenever they separate two different regions.
+// A wall is stored as cell * 2 + (0 for the right wall, 1 for the bottom one); regions
+// live in a union-find with path compression and union by rank. A root keeps its rank
+// as a negative value in the parent array, so a union touches one array instead of two.
+public class KruskalGenerator implements MazeGenerator {
+
+    // Walls are shuffled by first scattering them into random buckets and then shuffling
+    // every bucket on its own (Rao-Sandelius). The result is still a uniform permutation,
+    // but each bucket fits in cache, unlike one Fisher-Yates pass over the whole array.
+    private static final int MAX_BUCKETS = 256;
+    private static final int BUCKET_SIZE = 1 << 15;
+    // Walls are numbered up to cell * 2 + 1, which has to fit in an int.
+    public static final int MAX_CELLS = Integer.MAX_VALUE / 2;
+
+    private final MazeGrid grid;
+    private final int[] walls;
+    private final int[] parent;
+    private final Random random;
+    private EngineListener listener = EngineListener.NONE;
+    private int next;
+    private int current;
+    private int carved;
+    private int joined;
+
+    public KruskalGenerator(MazeGrid grid) {
+        this(grid, new Random());
+    }
+
+    public KruskalGenerator(MazeGrid grid, long seed) {
+        this(grid, new Random(seed));
+    }
+
+    private KruskalGenerator(MazeGrid grid, Random random) {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        if (grid.size() > MAX_CELLS) {
+            throw new IllegalArgumentException(String.format(
+                    "Grid too large for Kruskal's algorithm: %dx%d, at most %d cells", width, height, MAX_CELLS));
+        }
+        this.grid = grid;
+        this.random = random;
+        walls = new int[(int) ((long) (width - 1) * height + (long) width * (height - 1))];
+        shuffleWalls();
+        parent = new int[grid.size()];
+        Arrays.fill(parent, -1);
+        // A single cell has no walls to remove and would otherwise never be visited.
+        if (grid.size() == 1) {
+            grid.setVisited(0, true);
+            carved = 1;
+        }
+    }
+
+    @Override
+    public MazeGrid generate() {
+        run();
+        return grid;
+    }
+
+    // Each step removes exactly one wall; walls between already joined cells are skipped.
+    @Override
+    public boolean step() {
+        if (current == -1) {
+            return false;
+        }
+        while (joined < grid.size() - 1) {
+            int wall = walls[next++];
+            int cell = wall >>> 1;
+            int side = (wall & 1) == 0 ? RIGHT : BOTTOM;
+            int other = side == RIGHT ? cell + 1 : cell + grid.getWidth();
+            if (union(cell, other)) {
+                grid.removeWall(cell, side);
+                joined++;
+                markVisited(cell);
+                markVisited(other);
+                current = cell;
+                listener.stepped(cell);
+                listener.stepped(other);
+                return true;
+            }
+        }
+        current = -1;
+        listener.finished();
+        return false;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return current == -1;
+    }
+
+    @Override
+    public int getCurrent() {
+        return current;
+    }
+
+    @Override
+    public double getProgress() {
+        return (double) carved / grid.size();
+    }
+
+    @Override
+    public void setListener(EngineListener listener) {
+        this.listener = listener;
+    }
+
+    private void shuffleWalls() {
+        int buckets = Math.max(1, Math.min(MAX_BUCKETS, walls.length / BUCKET_SIZE));
+        byte[] tags = new byte[walls.length];
+        int[] offsets = new int[buckets + 1];
+        for (int i = 0; i < tags.length; i++) {
+            int bucket = random.nextInt(buckets);
+            tags[i] = (byte) bucket;
+            offsets[bucket + 1]++;
+        }
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            offsets[bucket + 1] += offsets[bucket];
+        }
+        int[] fill = Arrays.copyOf(offsets, buckets);
+        int i = 0;
+        for (int wall = 0; wall < grid.size() << 1; wall++) {
+            if (isInner(wall)) {
+                walls[fill[tags[i++] & 0xFF]++] = wall;
+            }
+        }
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            int from = offsets[bucket];
+            for (int last = offsets[bucket + 1] - 1; last > from; last--) {
+                int pick = from + random.nextInt(last - from + 1);
+                int wall = walls[pick];
+                walls[pick] = walls[last];
+                walls[last] = wall;
+            }
+        }
+    }
+
+    // Right walls on the east border and bottom walls on the last row are outer walls.
+    private boolean isInner(int wall) {
+        int cell = wall >>> 1;
+        if ((wall & 1) == 0) {
+            return grid.x(cell) < grid.getWidth() - 1;
+        }
+        return cell < grid.size() - grid.getWidth();
+    }
+
+    private void markVisited(int cell) {
+        if (!grid.isVisited(cell)) {
+            grid.setVisited(cell, true);
+            carved++;
+        }
+    }
+
+    private int find(int cell) {
+        int root = cell;
+        while (parent[root] >= 0) {
+            root = parent[root];
+        }
+        while (cell != root && parent[cell] != root) {
+            int up = parent[cell];
+            parent[cell] = root;
+            cell = up;
+        }
+        return root;
+    }
+
+    private boolean union(int a, int b) {
+        a = find(a);
+        b = find(b);
+        if (a == b) {
+            return false;
+        }
+        // Ranks are stored as -1 - rank, so the larger rank has the smaller value.
+        if (parent[a] > parent[b]) {
+            parent[a] = b;
+        } else if (parent[a] < parent[b]) {
+            parent[b] = a;
+        } else {
+            parent[b] = a;
+            parent[a]--;
+        }
+        return true;
+    }
+
+    public static class Provider extends BuiltInGeneratorProvider {
+
+        public Provider() {
+            super(GenerationAlgorithm.KRUSKAL);
+        }
+
+        @Override
+        public MazeGenerator create(MazeGrid grid, int start, long seed) {
+            return new KruskalGenerator(grid, seed);
+        }
+
+        @Override
+        public long getMaxCells() {
+            return MAX_CELLS;
+        }
+    }
+}
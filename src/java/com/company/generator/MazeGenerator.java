@@ -0,0 +1,11 @@
+package com.company.generator;
+
+import com.company.engine.MazeEngine;
+import com.company.model.MazeGrid;
+
+public interface MazeGenerator extends MazeEngine {
+
+    MazeGrid generate();
+
+    double getProgress();
+}
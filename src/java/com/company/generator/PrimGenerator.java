@@ -1,65 +1,118 @@
 package com.company.generator;
 
-import com.company.gui.Cell;
-import com.company.gui.MainFrame;
-import com.company.gui.MazeGridPanel;
+import com.company.engine.EngineListener;
+import com.company.model.MazeGrid;
+import com.company.model.Neighbours;
 
-import javax.swing.*;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Random;
 
-public class PrimGenerator {
+public class PrimGenerator implements MazeGenerator {
 
-    private final List<Cell> grid;
-    private final List<Cell> frontier = new ArrayList<>();
-    private final Cell start;
-    private final Cell goal;
-    private final MazeGridPanel panel;
-    private Cell current;
+    private final MazeGrid grid;
+    private final Frontier frontier;
+    private final int[] neighbours = new int[Neighbours.MAX];
+    private final Random random;
+    private EngineListener listener = EngineListener.NONE;
+    private int current;
+    private int carved;
 
-    public PrimGenerator(List<Cell> grid, MazeGridPanel panel) {
+    public PrimGenerator(MazeGrid grid, int start) {
+        this(grid, start, new Random());
+    }
+
+    public PrimGenerator(MazeGrid grid, int start, long seed) {
+        this(grid, start, new Random(seed));
+    }
+
+    private PrimGenerator(MazeGrid grid, int start, Random random) {
         this.grid = grid;
-        this.panel = panel;
-        start = panel.getStart();
-        goal = panel.getGoal();
+        this.random = random;
+        frontier = new Frontier(grid.size());
+        frontier.add(start);
         current = start;
     }
 
-    public void generate() {
-        final Timer timer = new Timer(MainFrame.speed, null);
-        timer.addActionListener(e -> {
-            if (!grid.parallelStream().allMatch(Cell::isVisited)) {
-                carve();
-            } else {
-                current = null;
-                MainFrame.setGenerated(true);
-                timer.stop();
-            }
-            panel.setCurrent(current);
-            panel.repaint();
-            timer.setDelay(MainFrame.speed);
-        });
-        timer.start();
+    @Override
+    public MazeGrid generate() {
+        run();
+        return grid;
+    }
+
+    @Override
+    public boolean step() {
+        if (current == -1) {
+            return false;
+        }
+        if (frontier.isEmpty()) {
+            current = -1;
+            listener.finished();
+            return false;
+        }
+        carve();
+        listener.stepped(current);
+        return true;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return current == -1;
+    }
+
+    @Override
+    public int getCurrent() {
+        return current;
+    }
+
+    @Override
+    public int getPending() {
+        return frontier.size();
+    }
+
+    public int getCarved() {
+        return carved;
+    }
+
+    public int getTotal() {
+        return grid.size();
+    }
+
+    @Override
+    public double getProgress() {
+        return (double) carved / grid.size();
+    }
+
+    @Override
+    public void setListener(EngineListener listener) {
+        this.listener = listener;
     }
 
     private void carve() {
-        current.setVisited(true);
+        current = frontier.removeRandom(random);
 
-        List<Cell> neighs = current.getUnvisitedNeighboursList(grid);
-        frontier.addAll(neighs);
-        Collections.shuffle(frontier);
+        int count = Neighbours.visited(grid, current, neighbours);
 
-        current = frontier.get(0);
+        if (count > 0) {
+            grid.removeWalls(current, neighbours[random.nextInt(count)]);
+        }
 
-        List<Cell> inNeighs = current.getAllNeighbours(grid);
-        inNeighs.removeIf(c -> !c.isVisited());
+        grid.setVisited(current, true);
+        carved++;
 
-        if (!inNeighs.isEmpty()) {
-            Collections.shuffle(inNeighs);
-            current.removeWalls(inNeighs.get(0));
+        count = Neighbours.unvisited(grid, current, neighbours);
+        for (int i = 0; i < count; i++) {
+            frontier.add(neighbours[i]);
         }
+    }
+
+    public static class Provider extends BuiltInGeneratorProvider {
 
-        frontier.removeIf(Cell::isVisited);
+        public Provider() {
+            super(GenerationAlgorithm.PRIM);
+        }
+
+        @Override
+        public MazeGenerator create(MazeGrid grid, int start, long seed) {
+            return new PrimGenerator(grid, start, seed);
+        }
     }
-}
\ No newline at end of file
+}
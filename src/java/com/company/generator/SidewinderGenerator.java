@@ -0,0 +1,109 @@
+package com.company.generator;
+
+import com.company.engine.EngineListener;
+import com.company.model.MazeGrid;
+
+import java.util.Random;
+
+import static com.company.model.MazeGrid.RIGHT;
+import static com.company.model.MazeGrid.TOP;
+
+// Carves each row as runs of cells joined to the right; closing a run opens one random
+// cell of it to the row above. Only the start of the current run is remembered.
+public class SidewinderGenerator implements MazeGenerator {
+
+    private final MazeGrid grid;
+    private final Random random;
+    private EngineListener listener = EngineListener.NONE;
+    private int next;
+    private int runStart;
+    private int current = -1;
+    private boolean finished;
+
+    public SidewinderGenerator(MazeGrid grid) {
+        this(grid, new Random());
+    }
+
+    public SidewinderGenerator(MazeGrid grid, long seed) {
+        this(grid, new Random(seed));
+    }
+
+    private SidewinderGenerator(MazeGrid grid, Random random) {
+        this.grid = grid;
+        this.random = random;
+    }
+
+    @Override
+    public MazeGrid generate() {
+        run();
+        return grid;
+    }
+
+    @Override
+    public boolean step() {
+        if (finished) {
+            return false;
+        }
+        if (next == grid.size()) {
+            finished = true;
+            current = -1;
+            listener.finished();
+            return false;
+        }
+        current = next++;
+        carve(current);
+        listener.stepped(current);
+        return true;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public int getCurrent() {
+        return current;
+    }
+
+    @Override
+    public double getProgress() {
+        return (double) next / grid.size();
+    }
+
+    @Override
+    public void setListener(EngineListener listener) {
+        this.listener = listener;
+    }
+
+    private void carve(int cell) {
+        int x = grid.x(cell);
+        if (x == 0) {
+            runStart = cell;
+        }
+        boolean east = x == grid.getWidth() - 1;
+        if (cell < grid.getWidth()) {
+            if (!east) {
+                grid.removeWall(cell, RIGHT);
+            }
+        } else if (east || random.nextBoolean()) {
+            grid.removeWall(runStart + random.nextInt(cell - runStart + 1), TOP);
+            runStart = cell + 1;
+        } else {
+            grid.removeWall(cell, RIGHT);
+        }
+        grid.setVisited(cell, true);
+    }
+
+    public static class Provider extends BuiltInGeneratorProvider {
+
+        public Provider() {
+            super(GenerationAlgorithm.SIDEWINDER);
+        }
+
+        @Override
+        public MazeGenerator create(MazeGrid grid, int start, long seed) {
+            return new SidewinderGenerator(grid, seed);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.company.generator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Generators that can write their rows straight into a maze file as they go, without
+// holding the whole grid.
+public interface StreamingGeneratorProvider extends GeneratorProvider {
+
+    MazeGenerator create(int width, int height, int start, int goal, long seed, OutputStream out) throws IOException;
+}
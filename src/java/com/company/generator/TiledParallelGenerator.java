@@ -0,0 +1,220 @@
+package com.company.generator;
+
+import com.company.engine.EngineListener;
+import com.company.model.MazeGrid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.company.model.MazeGrid.BOTTOM;
+import static com.company.model.MazeGrid.RIGHT;
+
+public class TiledParallelGenerator implements MazeGenerator {
+
+    // Tile sides are multiples of 32 so that every band of tile rows starts on a word of
+    // the packed wall array. Each band is carved into a grid of its own by the pool, and the
+    // calling thread alone copies the finished bands into the maze word by word, so the
+    // maze and its listener only ever see one thread.
+    public static final int DEFAULT_TILE_SIZE = 128;
+    private static final int TILE_ALIGNMENT = 32;
+    private static final long SEED_MIX = 0x9E3779B97F4A7C15L;
+
+    private final MazeGrid grid;
+    private final long seed;
+    private final int tileSize;
+    private final int tilesX;
+    private final int tilesY;
+    private final ForkJoinPool pool;
+    private final AtomicInteger tilesDone = new AtomicInteger();
+    private EngineListener listener = EngineListener.NONE;
+    private boolean generated;
+    private boolean finished;
+
+    public TiledParallelGenerator(MazeGrid grid, long seed) {
+        this(grid, seed, DEFAULT_TILE_SIZE, ForkJoinPool.commonPool());
+    }
+
+    public TiledParallelGenerator(MazeGrid grid, long seed, int tileSize, ForkJoinPool pool) {
+        if (tileSize <= 0 || tileSize % TILE_ALIGNMENT != 0) {
+            throw new IllegalArgumentException(String.format("Tile size must be a positive multiple of %d: %d",
+                    TILE_ALIGNMENT, tileSize));
+        }
+        this.grid = grid;
+        this.seed = seed;
+        this.tileSize = tileSize;
+        this.pool = pool;
+        tilesX = (grid.getWidth() + tileSize - 1) / tileSize;
+        tilesY = (grid.getHeight() + tileSize - 1) / tileSize;
+    }
+
+    @Override
+    public MazeGrid generate() {
+        run();
+        return grid;
+    }
+
+    @Override
+    public boolean step() {
+        if (finished) {
+            return false;
+        }
+        if (!generated) {
+            List<BandTask> bands = new ArrayList<>(tilesY);
+            for (int ty = 0; ty < tilesY; ty++) {
+                bands.add(new BandTask(ty));
+            }
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(bands);
+                }
+            });
+            for (BandTask band : bands) {
+                band.publish();
+            }
+            stitch();
+            grid.setAllVisited(true);
+            generated = true;
+            listener.stepped(getCurrent());
+            return true;
+        }
+        finished = true;
+        listener.finished();
+        return false;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public int getCurrent() {
+        return -1;
+    }
+
+    @Override
+    public void setListener(EngineListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public double getProgress() {
+        return (double) tilesDone.get() / (tilesX * tilesY);
+    }
+
+    private int tileWidth(int tx) {
+        return Math.min(tileSize, grid.getWidth() - tx * tileSize);
+    }
+
+    private int tileHeight(int ty) {
+        return Math.min(tileSize, grid.getHeight() - ty * tileSize);
+    }
+
+    // A random spanning tree over the tiles themselves decides which neighbouring tiles
+    // get joined, and each tree edge opens one random wall on the shared border.
+    private void stitch() {
+        MazeGrid tiles = new PrimGenerator(new MazeGrid(tilesX, tilesY), 0, seed).generate();
+        Random random = new Random(seed ^ SEED_MIX);
+        for (int t = 0; t < tiles.size(); t++) {
+            int tx = tiles.x(t);
+            int ty = tiles.y(t);
+            if (tx < tilesX - 1 && !tiles.hasWall(t, RIGHT)) {
+                int y = ty * tileSize + random.nextInt(tileHeight(ty));
+                grid.removeWall(grid.index(tx * tileSize + tileWidth(tx) - 1, y), RIGHT);
+            }
+            if (ty < tilesY - 1 && !tiles.hasWall(t, BOTTOM)) {
+                int x = tx * tileSize + random.nextInt(tileWidth(tx));
+                grid.removeWall(grid.index(x, ty * tileSize + tileHeight(ty) - 1), BOTTOM);
+            }
+        }
+    }
+
+    private class BandTask extends RecursiveAction {
+
+        private final int ty;
+        private MazeGrid band;
+
+        BandTask(int ty) {
+            this.ty = ty;
+        }
+
+        @Override
+        protected void compute() {
+            List<TileTask> tiles = new ArrayList<>(tilesX);
+            for (int tx = 0; tx < tilesX; tx++) {
+                tiles.add(new TileTask(tx, ty));
+            }
+            ForkJoinTask.invokeAll(tiles);
+            band = new MazeGrid(grid.getWidth(), tileHeight(ty));
+            for (TileTask tile : tiles) {
+                tile.copyInto(band);
+            }
+        }
+
+        void publish() {
+            int first = ty * tileSize * grid.getWidth() >>> 5;
+            for (int word = 0; word < band.wallWords(); word++) {
+                grid.setWallWord(first + word, band.getWallWord(word));
+            }
+            band = null;
+        }
+    }
+
+    private class TileTask extends RecursiveAction {
+
+        private final int tx;
+        private final int ty;
+        private MazeGrid tile;
+
+        TileTask(int tx, int ty) {
+            this.tx = tx;
+            this.ty = ty;
+        }
+
+        @Override
+        protected void compute() {
+            long tileSeed = seed + SEED_MIX * (ty * (long) tilesX + tx + 1);
+            tile = new MazeGrid(tileWidth(tx), tileHeight(ty));
+            int start = new Random(tileSeed).nextInt(tile.size());
+            new PrimGenerator(tile, start, tileSeed).generate();
+            tilesDone.incrementAndGet();
+        }
+
+        void copyInto(MazeGrid band) {
+            int x0 = tx * tileSize;
+            int width = tile.getWidth();
+            int height = tile.getHeight();
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    int c = tile.index(x, y);
+                    int b = band.index(x0 + x, y);
+                    if (x < width - 1 && !tile.hasWall(c, RIGHT)) {
+                        band.removeWall(b, RIGHT);
+                    }
+                    if (y < height - 1 && !tile.hasWall(c, BOTTOM)) {
+                        band.removeWall(b, BOTTOM);
+                    }
+                }
+            }
+            tile = null;
+        }
+    }
+
+    public static class Provider extends BuiltInGeneratorProvider {
+
+        public Provider() {
+            super(GenerationAlgorithm.PARALLEL_PRIM);
+        }
+
+        @Override
+        public MazeGenerator create(MazeGrid grid, int start, long seed) {
+            return new TiledParallelGenerator(grid, seed);
+        }
+    }
+}
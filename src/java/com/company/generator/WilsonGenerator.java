@@ -0,0 +1,118 @@
+package com.company.generator;
+
+import com.company.engine.EngineListener;
+import com.company.model.MazeGrid;
+import com.company.model.Neighbours;
+
+import java.util.Random;
+
+// Loop-erased random walks: from each cell outside the maze, walk until the maze is hit,
+// remembering only the last exit taken from every cell, then carve along those exits.
+// Overwriting an exit erases the loop through it. Produces a uniform spanning tree.
+public class WilsonGenerator implements MazeGenerator {
+
+    private final MazeGrid grid;
+    private final int[] neighbours = new int[Neighbours.MAX];
+    private final int[] exits;
+    private final Random random;
+    private EngineListener listener = EngineListener.NONE;
+    private int current;
+    private int walkStart = -1;
+    private int cursor;
+    private int carved;
+    private boolean carving;
+
+    public WilsonGenerator(MazeGrid grid, int start) {
+        this(grid, start, new Random());
+    }
+
+    public WilsonGenerator(MazeGrid grid, int start, long seed) {
+        this(grid, start, new Random(seed));
+    }
+
+    private WilsonGenerator(MazeGrid grid, int start, Random random) {
+        this.grid = grid;
+        this.random = random;
+        exits = new int[grid.size()];
+        grid.setVisited(start, true);
+        current = start;
+        carved = 1;
+    }
+
+    @Override
+    public MazeGrid generate() {
+        run();
+        return grid;
+    }
+
+    // One step either extends the current walk or carves one cell of a finished walk.
+    @Override
+    public boolean step() {
+        if (current == -1) {
+            return false;
+        }
+        if (walkStart == -1) {
+            while (cursor < grid.size() && grid.isVisited(cursor)) {
+                cursor++;
+            }
+            if (cursor == grid.size()) {
+                current = -1;
+                listener.finished();
+                return false;
+            }
+            walkStart = cursor;
+            current = cursor;
+            carving = false;
+        }
+        if (carving) {
+            int next = exits[current];
+            grid.removeWalls(current, next);
+            grid.setVisited(current, true);
+            carved++;
+            current = next;
+            if (grid.isVisited(next)) {
+                walkStart = -1;
+            }
+        } else {
+            int count = Neighbours.all(grid, current, neighbours);
+            int next = neighbours[random.nextInt(count)];
+            exits[current] = next;
+            current = grid.isVisited(next) ? walkStart : next;
+            carving = grid.isVisited(next);
+        }
+        listener.stepped(current);
+        return true;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return current == -1;
+    }
+
+    @Override
+    public int getCurrent() {
+        return current;
+    }
+
+    @Override
+    public double getProgress() {
+        return (double) carved / grid.size();
+    }
+
+    @Override
+    public void setListener(EngineListener listener) {
+        this.listener = listener;
+    }
+
+    public static class Provider extends BuiltInGeneratorProvider {
+
+        public Provider() {
+            super(GenerationAlgorithm.WILSON);
+        }
+
+        @Override
+        public MazeGenerator create(MazeGrid grid, int start, long seed) {
+            return new WilsonGenerator(grid, start, seed);
+        }
+    }
+}
@@ -1,247 +1,160 @@
 package com.company.gui;
 
+import com.company.model.MazeGrid;
+import com.company.model.Neighbours;
 import com.company.util.ColorScheme;
 
 import java.awt.*;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+
+import static com.company.model.MazeGrid.BOTTOM;
+import static com.company.model.MazeGrid.LEFT;
+import static com.company.model.MazeGrid.RIGHT;
+import static com.company.model.MazeGrid.TOP;
 
 public class Cell implements Serializable {
 
-    private static final int TOP = 0;
-    private static final int RIGHT = 1;
-    private static final int BOTTOM = 2;
-    private static final int LEFT = 3;
-    private final int x;
-    private final int y;
-    private int distance;
-    private int id;
-    private Cell parent;
-    private Color color;
-    private boolean visited = false;
-    private boolean path = false;
-    private boolean deadEnd = false;
-    private boolean[] walls = {true, true, true, true};
-
-    public Cell(int x, int y) {
-        this.x = x;
-        this.y = y;
-        this.distance = -1;
+    private static final Stroke WALL_STROKE = new BasicStroke(3);
+    private static final Stroke THIN_WALL_STROKE = new BasicStroke(1);
+    private static final int THIN_WALL_CELL_SIZE = 12;
+    private final MazeGrid grid;
+    private final int id;
 
+    public Cell(MazeGrid grid, int id) {
+        this.grid = grid;
+        this.id = id;
     }
 
 
     public int getX() {
-        return x;
+        return grid.x(id);
     }
 
     public int getY() {
-        return y;
+        return grid.y(id);
     }
 
     public int getId() {
         return id;
     }
 
-    public void setId(int id) {
-        this.id = id;
-    }
-
     public boolean isVisited() {
-        return visited;
+        return grid.isVisited(id);
     }
 
     public void setVisited(boolean visited) {
-        this.visited = visited;
+        grid.setVisited(id, visited);
     }
 
     public boolean isDeadEnd() {
-        return deadEnd;
+        return grid.isDeadEnd(id);
     }
 
     public void setDeadEnd(boolean deadEnd) {
-        this.deadEnd = deadEnd;
+        grid.setDeadEnd(id, deadEnd);
     }
 
-    public void setPath(boolean path) {
-        this.path = path;
+    public boolean isPath() {
+        return grid.isPath(id);
     }
 
-    public int getDistance() {
-        return distance;
-    }
-
-    public void setDistance(int distance) {
-        this.distance = distance;
-    }
-
-    public Cell getParent() {
-        return parent;
+    public void setPath(boolean path) {
+        grid.setPath(id, path);
     }
 
-    public void setParent(Cell parent) {
-        this.parent = parent;
+    public void reset() {
+        grid.resetCell(id);
     }
 
-    public void resetCell(Cell cell, Graphics g) {
-        cell.setDeadEnd(false);
-        cell.setPath(false);
-        cell.setVisited(false);
-        cell.draw(g);
+    public void draw(Graphics g, MazeSession session) {
+        drawFill(g, session);
+        drawWalls(g, session);
     }
 
-    synchronized public void draw(Graphics g) {
-        int x2 = x * MainFrame.cellWidth;
-        int y2 = y * MainFrame.cellHeight;
+    public void drawFill(Graphics g, MazeSession session) {
+        int x2 = getX() * session.getCellWidth();
+        int y2 = getY() * session.getCellHeight();
 
-        if (visited) {
-            this.setColor(ColorScheme.VISITED);
+        if (isVisited()) {
             g.setColor(ColorScheme.VISITED);
-            g.fillRect(x2, y2, MainFrame.cellWidth, MainFrame.cellHeight);
+            g.fillRect(x2, y2, session.getCellWidth(), session.getCellHeight());
         }
 
-        if (path) {
-            this.setColor(ColorScheme.PATH);
+        if (isPath()) {
             g.setColor(ColorScheme.PATH);
-            g.fillRect(x2, y2, MainFrame.cellWidth, MainFrame.cellHeight);
-        } else if (deadEnd) {
-            this.setColor(ColorScheme.DEAD_END);
+            g.fillRect(x2, y2, session.getCellWidth(), session.getCellHeight());
+        } else if (isDeadEnd()) {
             g.setColor(ColorScheme.DEAD_END);
-            g.fillRect(x2, y2, MainFrame.cellWidth, MainFrame.cellHeight);
+            g.fillRect(x2, y2, session.getCellWidth(), session.getCellHeight());
         }
+    }
+
+    public void drawWalls(Graphics g, MazeSession session) {
+        int x2 = getX() * session.getCellWidth();
+        int y2 = getY() * session.getCellHeight();
 
         g.setColor(ColorScheme.EXTRA_LIGHT);
-        this.setColor(ColorScheme.EXTRA_LIGHT);
 
         Graphics2D g2 = (Graphics2D) g;
-        g2.setStroke(new BasicStroke(3));
+        g2.setStroke(wallThickness(session) == 1 ? THIN_WALL_STROKE : WALL_STROKE);
 
-        if (walls[TOP]) {
-            g2.drawLine(x2, y2, x2 + MainFrame.cellWidth, y2);
+        if (grid.hasWall(id, TOP)) {
+            g2.drawLine(x2, y2, x2 + session.getCellWidth(), y2);
         }
-        if (walls[RIGHT]) {
-            g2.drawLine(x2 + MainFrame.cellWidth, y2, x2 + MainFrame.cellWidth, y2 + MainFrame.cellHeight);
+        if (grid.hasWall(id, RIGHT)) {
+            g2.drawLine(x2 + session.getCellWidth(), y2, x2 + session.getCellWidth(), y2 + session.getCellHeight());
         }
-        if (walls[BOTTOM]) {
-            g2.drawLine(x2 + MainFrame.cellWidth, y2 + MainFrame.cellHeight, x2, y2 + MainFrame.cellHeight);
+        if (grid.hasWall(id, BOTTOM)) {
+            g2.drawLine(x2 + session.getCellWidth(), y2 + session.getCellHeight(), x2, y2 + session.getCellHeight());
         }
-        if (walls[LEFT]) {
-            g2.drawLine(x2, y2 + MainFrame.cellHeight, x2, y2);
+        if (grid.hasWall(id, LEFT)) {
+            g2.drawLine(x2, y2 + session.getCellHeight(), x2, y2);
         }
-        Toolkit.getDefaultToolkit().sync();
     }
 
-    synchronized public void displayAsColor(Graphics g, Color color) {
-        int x2 = x * MainFrame.cellWidth;
-        int y2 = y * MainFrame.cellHeight;
-        g.setColor(color);
-        this.setColor(color);
-        g.fillRect(x2, y2, MainFrame.cellWidth, MainFrame.cellHeight);
+    public static int wallThickness(MazeSession session) {
+        return Math.min(session.getCellWidth(), session.getCellHeight()) < THIN_WALL_CELL_SIZE ? 1 : 3;
     }
 
-    synchronized public void removeWalls(Cell next) {
-        int x = this.x - next.x;
-
-        if (x == 1) {
-            walls[LEFT] = false;
-            next.walls[RIGHT] = false;
-        } else if (x == -1) {
-            walls[RIGHT] = false;
-            next.walls[LEFT] = false;
-        }
-
-        int y = this.y - next.y;
-
-        if (y == 1) {
-            walls[TOP] = false;
-            next.walls[BOTTOM] = false;
-        } else if (y == -1) {
-            walls[BOTTOM] = false;
-            next.walls[TOP] = false;
-        }
+    public void displayAsColor(Graphics g, Color color, MazeSession session) {
+        int x2 = getX() * session.getCellWidth();
+        int y2 = getY() * session.getCellHeight();
+        g.setColor(color);
+        g.fillRect(x2, y2, session.getCellWidth(), session.getCellHeight());
     }
 
-
-    private Cell checkNeighbourInGridBounds(List<Cell> grid, Cell neighbour) {
-        if (grid.contains(neighbour)) {
-            return grid.get(grid.indexOf(neighbour));
-        }
-        return null;
+    public void removeWalls(Cell next) {
+        grid.removeWalls(id, next.id);
     }
 
-    public List<Cell> getUnvisitedNeighboursList(List<Cell> grid) {
-
-        List<Cell> neighbours = new ArrayList<>(4);
-
-        Optional<Cell> top = Optional.ofNullable(checkNeighbourInGridBounds(grid, new Cell(x, y - 1)));
-        Optional<Cell> right = Optional.ofNullable(checkNeighbourInGridBounds(grid, new Cell(x + 1, y)));
-        Optional<Cell> bottom = Optional.ofNullable(checkNeighbourInGridBounds(grid, new Cell(x, y + 1)));
-        Optional<Cell> left = Optional.ofNullable(checkNeighbourInGridBounds(grid, new Cell(x - 1, y)));
-
-        if (top.isPresent() && !top.get().isVisited())
-            neighbours.add(top.get());
-        if (right.isPresent() && !right.get().isVisited())
-            neighbours.add(right.get());
-        if (bottom.isPresent() && !bottom.get().isVisited())
-            neighbours.add(bottom.get());
-        if (left.isPresent() && !left.get().isVisited())
-            neighbours.add(left.get());
-
-        return neighbours;
+    public List<Cell> getUnvisitedNeighboursList() {
+        int[] buffer = new int[Neighbours.MAX];
+        return toCells(buffer, Neighbours.unvisited(grid, id, buffer));
     }
 
-    public List<Cell> getValidMoveNeighbours(List<Cell> grid) {
-        List<Cell> neighbours = new ArrayList<>(4);
-
-        Optional<Cell> top = Optional.ofNullable(checkNeighbourInGridBounds(grid, new Cell(x, y - 1)));
-        Optional<Cell> right = Optional.ofNullable(checkNeighbourInGridBounds(grid, new Cell(x + 1, y)));
-        Optional<Cell> bottom = Optional.ofNullable(checkNeighbourInGridBounds(grid, new Cell(x, y + 1)));
-        Optional<Cell> left = Optional.ofNullable(checkNeighbourInGridBounds(grid, new Cell(x - 1, y)));
-
-        if (top.isPresent()) {
-            if (!walls[TOP]) neighbours.add(top.get());
-        }
-
-        if (right.isPresent()) {
-            if (!walls[RIGHT]) neighbours.add(right.get());
-        }
-
-        if (bottom.isPresent()) {
-            if (!walls[BOTTOM]) neighbours.add(bottom.get());
-        }
-
-        if (left.isPresent()) {
-            if (!walls[LEFT]) neighbours.add(left.get());
-        }
-
-        return neighbours;
+    public List<Cell> getValidMoveNeighbours() {
+        int[] buffer = new int[Neighbours.MAX];
+        return toCells(buffer, Neighbours.open(grid, id, buffer));
     }
 
-    public List<Cell> getAllNeighbours(List<Cell> grid) {
-        List<Cell> neighbours = new ArrayList<>();
-
-        Cell top = checkNeighbourInGridBounds(grid, new Cell(x, y - 1));
-        Cell right = checkNeighbourInGridBounds(grid, new Cell(x + 1, y));
-        Cell bottom = checkNeighbourInGridBounds(grid, new Cell(x, y + 1));
-        Cell left = checkNeighbourInGridBounds(grid, new Cell(x - 1, y));
-
-        if (top != null) neighbours.add(top);
-        if (right != null) neighbours.add(right);
-        if (bottom != null) neighbours.add(bottom);
-        if (left != null) neighbours.add(left);
+    public List<Cell> getAllNeighbours() {
+        int[] buffer = new int[Neighbours.MAX];
+        return toCells(buffer, Neighbours.all(grid, id, buffer));
+    }
 
+    private List<Cell> toCells(int[] ids, int count) {
+        List<Cell> neighbours = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            neighbours.add(new Cell(grid, ids[i]));
+        }
         return neighbours;
     }
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + x;
-        result = prime * result + y;
-        return result;
+        return id;
     }
 
     @Override
@@ -253,18 +166,7 @@ public class Cell implements Serializable {
         if (getClass() != obj.getClass())
             return false;
         Cell other = (Cell) obj;
-        if (x != other.x)
-            return false;
-        return y == other.y;
-    }
-
-
-    public Color getColor() {
-        return color;
-    }
-
-    public void setColor(Color color) {
-        this.color = color;
+        return grid == other.grid && id == other.id;
     }
 
-}
\ No newline at end of file
+}
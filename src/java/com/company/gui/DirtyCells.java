@@ -0,0 +1,58 @@
+package com.company.gui;
+
+public class DirtyCells {
+
+    private final int[] cells;
+    private int count;
+    private boolean overflowed;
+
+    public DirtyCells(int limit) {
+        cells = new int[limit];
+    }
+
+    public void mark(int cell) {
+        if (overflowed || cell == -1) {
+            return;
+        }
+        if (count == cells.length) {
+            overflowed = true;
+            return;
+        }
+        cells[count++] = cell;
+    }
+
+    public void markAll() {
+        overflowed = true;
+    }
+
+    public void addAll(DirtyCells other) {
+        if (other.overflowed) {
+            overflowed = true;
+            return;
+        }
+        for (int i = 0; i < other.count; i++) {
+            mark(other.cells[i]);
+        }
+    }
+
+    public boolean isOverflowed() {
+        return overflowed;
+    }
+
+    public boolean isEmpty() {
+        return count == 0 && !overflowed;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int get(int i) {
+        return cells[i];
+    }
+
+    public void clear() {
+        count = 0;
+        overflowed = false;
+    }
+}
@@ -1,14 +1,19 @@
 package com.company.gui;
 
-import com.company.generator.GenerationAlgorithm;
+import com.company.cli.Batch;
+import com.company.generator.GeneratorProvider;
+import com.company.generator.Generators;
 
-import com.company.solver.SolvingAlgorithm;
+import com.company.io.MazeFile;
+import com.company.solver.SolverProvider;
+import com.company.solver.Solvers;
 import com.company.util.ColorScheme;
 import com.company.util.ImagePanel;
 
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
 import java.awt.*;
+import java.io.IOException;
 import java.util.Objects;
 
 import static com.company.generator.GenerationAlgorithm.PRIM;
@@ -19,14 +24,8 @@ public class MainFrame {
     public static final int WIDTH = 600;
     public static final int HEIGHT = 600;
     private static final int DEFAULT_GRID = 17;
-    public static int cellWidth = 20;
-    public static int cellHeight = 20;
-    public static int speed = 50;
-    public static boolean gridDisplayed;
-    public static boolean manualEntranceExit;
-    public static boolean generated;
-    public static boolean solved;
-    public static boolean autoSolve;
+    private static final int MAX_GRID = 5001;
+    private static final int REPLAY_REFRESH_MILLIS = 100;
     private MazeGridPanel grid;
     private ImagePanel mazeBorder;
     private int cols;
@@ -34,25 +33,28 @@ public class MainFrame {
     private JSpinner rowsSpinner;
     private JSpinner colsSpinner;
     private JPanel genAlgPanel;
+    private JComboBox<GeneratorProvider> genAlgComboBox;
     private JPanel entranceExitSettingsPanel;
     private JLabel entExitLabel;
     private JRadioButton exitAutoRadioButton;
     private JRadioButton exitManualRadioButton;
     private JButton createMazeButton;
+    private JProgressBar generationProgress;
     private JLabel solveModeLabel;
     private JRadioButton autoSolveRadioButton;
     private JRadioButton manualSolveRadioButton;
+    private JComboBox<SolverProvider> solveAlgComboBox;
     private JPanel visualizationPanel;
     private JLabel visualSpeed;
     private JSlider visualizationSlider;
     private JButton solveMazeButton;
+    private JLabel solveStatsLabel;
+    private ReplayPanel replayPanel;
+    private MetricsPanel metricsPanel;
 
     public MainFrame() {
-        cellWidth = Math.floorDiv(WIDTH, DEFAULT_GRID);
-        cellHeight = Math.floorDiv(HEIGHT, DEFAULT_GRID);
         setRows(DEFAULT_GRID);
         setCols(DEFAULT_GRID);
-        autoSolve = true;
 
         EventQueue.invokeLater(() -> {
             try {
@@ -66,18 +68,15 @@ public class MainFrame {
 
     }
 
+    // Any command line arguments run the headless batch mode instead of the window.
     public static void main(String[] args) {
+        if (args.length > 0) {
+            Batch.main(args);
+            return;
+        }
         new MainFrame();
     }
 
-    public static void setGenerated(boolean generated) {
-        MainFrame.generated = generated;
-    }
-
-    public static void setSolved(boolean solved) {
-        MainFrame.solved = solved;
-    }
-
 
     private void createAndShowGUI() {
         JFrame frame = new JFrame("Генератор лабиринтов");
@@ -86,8 +85,11 @@ public class MainFrame {
         frame.setContentPane(container);
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
-        grid = new MazeGridPanel(rows, cols);
+        JPanel leftPanel = initParamsPanel();
+        grid = new MazeGridPanel(rows, cols, newSession(rows, cols, MazeSession.State.EMPTY));
         grid.setBackground(ColorScheme.TRANSPARENT);
+        showMetrics(null, grid.getSession());
+        new Timer(REPLAY_REFRESH_MILLIS, e -> replayPanel.refresh()).start();
 
         mazeBorder = new ImagePanel();
         mazeBorder.setSize(WIDTH, HEIGHT);
@@ -97,7 +99,6 @@ public class MainFrame {
 
         mazeBorder.add(grid, BorderLayout.CENTER);
 
-        JPanel leftPanel = initParamsPanel();
         Dimension d = leftPanel.getPreferredSize();
         d.height = mazeBorder.getPreferredSize().height;
         leftPanel.setPreferredSize(d);
@@ -111,20 +112,93 @@ public class MainFrame {
     }
 
 
-    private void updateCellWidth() {
-        cellWidth = Math.floorDiv(WIDTH, getRows());
-        cellHeight = Math.floorDiv(HEIGHT, getCols());
+    // New mazes take the settings currently chosen in the controls.
+    private MazeSession newSession(int rows, int cols, MazeSession.State state) {
+        MazeSession session = new MazeSession(rows, cols, state);
+        session.setSpeed(visualizationSlider.getValue());
+        session.setManualEntranceExit(exitManualRadioButton.isSelected());
+        session.setAutoSolve(autoSolveRadioButton.isSelected());
+        return session;
     }
 
     private void updateGridSize() {
+        showGrid(new MazeGridPanel(rows, cols, newSession(rows, cols, MazeSession.State.EMPTY)));
+    }
+
+    private void showGrid(MazeGridPanel panel) {
+        showMetrics(grid.getSession(), panel.getSession());
         mazeBorder.remove(grid);
-        updateCellWidth();
-        grid = new MazeGridPanel(rows, cols);
+        grid = panel;
         grid.setBackground(ColorScheme.TRANSPARENT);
         mazeBorder.add(grid);
-        gridDisplayed = true;
-        generated = false;
         mazeBorder.revalidate();
+        mazeBorder.repaint();
+    }
+
+    // Only the maze on screen is published over JMX and shown in the statistics panel.
+    private void showMetrics(MazeSession previous, MazeSession next) {
+        if (previous != null) {
+            previous.getMetrics().unregister();
+        }
+        next.getMetrics().register();
+        metricsPanel.setMetrics(next.getMetrics());
+    }
+
+    private void saveMaze(Component parent) {
+        if (!grid.getSession().isGenerated()) {
+            JOptionPane.showMessageDialog(parent, "Лабиринт ещё не готов. Пожалуйста, подождите.");
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showSaveDialog(parent) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        try {
+            new MazeFile(grid.getGrid(), grid.getStart().getId(), grid.getGoal().getId())
+                    .write(chooser.getSelectedFile().toPath());
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(parent, String.format("Не удалось сохранить лабиринт: %s", ex.getMessage()),
+                    "Ошибка", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void exportLog(Component parent) {
+        if (!grid.canReplay()) {
+            JOptionPane.showMessageDialog(parent, "Запись недоступна.");
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showSaveDialog(parent) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        try {
+            grid.exportLog(chooser.getSelectedFile().toPath());
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(parent, String.format("Не удалось сохранить запись: %s", ex.getMessage()),
+                    "Ошибка", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void loadMaze(Component parent) {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(parent) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        MazeFile file;
+        try {
+            file = MazeFile.read(chooser.getSelectedFile().toPath());
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(parent, String.format("Не удалось загрузить лабиринт: %s", ex.getMessage()),
+                    "Ошибка", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        file.getGrid().setAllVisited(true);
+        setRows(file.getGrid().getWidth());
+        setCols(file.getGrid().getHeight());
+        rowsSpinner.setValue(rows);
+        colsSpinner.setValue(cols);
+        showGrid(new MazeGridPanel(file.getGrid(), file.getStart(), file.getGoal(),
+                newSession(rows, cols, MazeSession.State.GENERATED)));
     }
 
     @SuppressWarnings("unchecked")
@@ -163,7 +237,7 @@ public class MainFrame {
         mazeGeneration.add(sizePanel, gbc);
 
         rowsSpinner = new JSpinner();
-        rowsSpinner.setModel(new SpinnerNumberModel(DEFAULT_GRID, 7, 37, 2));
+        rowsSpinner.setModel(new SpinnerNumberModel(DEFAULT_GRID, 7, MAX_GRID, 2));
         rowsSpinner.addChangeListener(e -> setRows((int) rowsSpinner.getValue()));
         gbc = new GridBagConstraints();
         gbc.gridx = 1;
@@ -197,7 +271,7 @@ public class MainFrame {
         sizePanel.add(colsLabel, gbc);
 
         colsSpinner = new JSpinner();
-        colsSpinner.setModel(new SpinnerNumberModel(DEFAULT_GRID, 7, 37, 2));
+        colsSpinner.setModel(new SpinnerNumberModel(DEFAULT_GRID, 7, MAX_GRID, 2));
         colsSpinner.addChangeListener(e -> setCols((int) colsSpinner.getValue()));
         gbc = new GridBagConstraints();
         gbc.gridx = 3;
@@ -220,6 +294,30 @@ public class MainFrame {
         gbc.fill = GridBagConstraints.BOTH;
         mazeGeneration.add(genAlgPanel, gbc);
 
+        JLabel genAlgLabel = new JLabel();
+        genAlgLabel.setText("Алгоритм");
+        gbc = new GridBagConstraints();
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.weightx = 0.2;
+        gbc.weighty = 1.0;
+        gbc.anchor = GridBagConstraints.WEST;
+        gbc.insets = new Insets(0, 10, 0, 10);
+        genAlgPanel.add(genAlgLabel, gbc);
+
+        genAlgComboBox = new JComboBox<>(Generators.all().toArray(new GeneratorProvider[0]));
+        genAlgComboBox.setRenderer(new ProviderRenderer());
+        genAlgComboBox.setSelectedItem(Generators.get(PRIM));
+        gbc = new GridBagConstraints();
+        gbc.gridx = 1;
+        gbc.gridy = 0;
+        gbc.weightx = 1.0;
+        gbc.weighty = 1.0;
+        gbc.anchor = GridBagConstraints.WEST;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        gbc.insets = new Insets(0, 10, 0, 10);
+        genAlgPanel.add(genAlgComboBox, gbc);
+
         JButton showGridButton = new JButton();
         showGridButton.setText("Показать сетку");
 
@@ -298,6 +396,18 @@ public class MainFrame {
         gbc.insets = new Insets(0, 10, 0, 10);
         mazeGeneration.add(createMazeButton, gbc);
 
+        generationProgress = new JProgressBar(0, 100);
+        generationProgress.setStringPainted(true);
+        gbc = new GridBagConstraints();
+        gbc.gridx = 0;
+        gbc.gridy = 5;
+        gbc.gridwidth = 3;
+        gbc.weightx = 1.0;
+        gbc.weighty = 1.0;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        gbc.insets = new Insets(0, 10, 0, 10);
+        mazeGeneration.add(generationProgress, gbc);
+
         JPanel mazeSolving = new JPanel();
         mazeSolving.setLayout(new GridBagLayout());
         gbc = new GridBagConstraints();
@@ -374,6 +484,30 @@ public class MainFrame {
         gbc.fill = GridBagConstraints.BOTH;
         mazeSolving.add(solveAlgPanel, gbc);
 
+        JLabel solveAlgLabel = new JLabel();
+        solveAlgLabel.setText("Алгоритм");
+        gbc = new GridBagConstraints();
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.weightx = 0.2;
+        gbc.weighty = 1.0;
+        gbc.anchor = GridBagConstraints.WEST;
+        gbc.insets = new Insets(0, 10, 0, 10);
+        solveAlgPanel.add(solveAlgLabel, gbc);
+
+        solveAlgComboBox = new JComboBox<>(Solvers.all().toArray(new SolverProvider[0]));
+        solveAlgComboBox.setRenderer(new ProviderRenderer());
+        solveAlgComboBox.setSelectedItem(Solvers.get(LEE));
+        gbc = new GridBagConstraints();
+        gbc.gridx = 1;
+        gbc.gridy = 0;
+        gbc.weightx = 1.0;
+        gbc.weighty = 1.0;
+        gbc.anchor = GridBagConstraints.WEST;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        gbc.insets = new Insets(0, 10, 0, 10);
+        solveAlgPanel.add(solveAlgComboBox, gbc);
+
         visualizationPanel = new JPanel();
         visualizationPanel.setLayout(new GridBagLayout());
         gbc = new GridBagConstraints();
@@ -417,15 +551,13 @@ public class MainFrame {
         visualizationPanel.add(visualizationSlider, gbc);
 
         manualSolveRadioButton.addActionListener(e -> {
-            autoSolve = false;
+            grid.getSession().setAutoSolve(false);
             grid.setAutoSolve(false);
             grid.setClickable(true);
             grid.requestFocus();
         });
 
-        autoSolveRadioButton.addActionListener(e -> {
-            autoSolve = true;
-        });
+        autoSolveRadioButton.addActionListener(e -> grid.getSession().setAutoSolve(true));
 
         solveMazeButton = new JButton();
         solveMazeButton.setText("Искать путь");
@@ -439,36 +571,99 @@ public class MainFrame {
         gbc.insets = new Insets(0, 10, 0, 10);
         mazeSolving.add(solveMazeButton, gbc);
 
+        solveStatsLabel = new JLabel();
+        gbc = new GridBagConstraints();
+        gbc.gridx = 0;
+        gbc.gridy = 4;
+        gbc.weightx = 1.0;
+        gbc.anchor = GridBagConstraints.WEST;
+        gbc.insets = new Insets(0, 10, 0, 10);
+        mazeSolving.add(solveStatsLabel, gbc);
+
+        JPanel mazeFile = new JPanel();
+        mazeFile.setLayout(new GridBagLayout());
+        gbc = new GridBagConstraints();
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        gbc.weightx = 1.0;
+        gbc.weighty = 1.0;
+        gbc.fill = GridBagConstraints.BOTH;
+        leftPanel.add(mazeFile, gbc);
+        mazeFile.setBorder(BorderFactory.createTitledBorder(BorderFactory.createEtchedBorder(), "Файл",
+                TitledBorder.DEFAULT_JUSTIFICATION, TitledBorder.DEFAULT_POSITION, null, null));
+
+        JButton saveMazeButton = new JButton();
+        saveMazeButton.setText("Сохранить");
+        gbc = new GridBagConstraints();
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.weightx = 1.0;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        gbc.insets = new Insets(0, 10, 0, 10);
+        mazeFile.add(saveMazeButton, gbc);
+
+        JButton loadMazeButton = new JButton();
+        loadMazeButton.setText("Загрузить");
+        gbc = new GridBagConstraints();
+        gbc.gridx = 1;
+        gbc.gridy = 0;
+        gbc.weightx = 1.0;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        gbc.insets = new Insets(0, 10, 0, 10);
+        mazeFile.add(loadMazeButton, gbc);
+
+
+        replayPanel = new ReplayPanel(() -> grid, () -> exportLog(leftPanel));
+        gbc = new GridBagConstraints();
+        gbc.gridx = 0;
+        gbc.gridy = 4;
+        gbc.weightx = 1.0;
+        gbc.weighty = 1.0;
+        gbc.fill = GridBagConstraints.BOTH;
+        leftPanel.add(replayPanel, gbc);
+
+        metricsPanel = new MetricsPanel();
+        gbc = new GridBagConstraints();
+        gbc.gridx = 0;
+        gbc.gridy = 5;
+        gbc.weightx = 1.0;
+        gbc.weighty = 1.0;
+        gbc.fill = GridBagConstraints.BOTH;
+        leftPanel.add(metricsPanel, gbc);
 
         showGridButton.addActionListener(e -> {
             updateGridSize();
         });
 
-        visualizationSlider.addChangeListener(e -> speed = visualizationSlider.getValue());
+        visualizationSlider.addChangeListener(e -> grid.getSession().setSpeed(visualizationSlider.getValue()));
 
         exitAutoRadioButton.addActionListener(e -> {
             grid.setClickable(false);
-            manualEntranceExit = false;
+            grid.getSession().setManualEntranceExit(false);
         });
         exitManualRadioButton.addActionListener(e -> {
             grid.setClickable(true);
-            manualEntranceExit = true;
+            grid.getSession().setManualEntranceExit(true);
         });
         createMazeButton.addActionListener(e -> {
-            if (gridDisplayed) {
-                generated = true;
-                solved = false;
-                gridDisplayed = false;
-                grid.generate(Objects.requireNonNull(PRIM));
+            if (grid.isVisible()
+                    && grid.generate(Objects.requireNonNull((GeneratorProvider) genAlgComboBox.getSelectedItem()))) {
+                trackGenerationProgress();
             }
         });
 
+        saveMazeButton.addActionListener(e -> saveMaze(leftPanel));
+        loadMazeButton.addActionListener(e -> loadMaze(leftPanel));
+
         solveMazeButton.addActionListener(e -> {
-            if (generated && autoSolve && !solved) {
-                grid.solve(Objects.requireNonNull(LEE));
-            } else if (generated && !autoSolve && !solved) {
+            MazeSession session = grid.getSession();
+            if (session.is(MazeSession.State.GENERATED) && session.isAutoSolve()) {
+                grid.solve(Objects.requireNonNull((SolverProvider) solveAlgComboBox.getSelectedItem()),
+                        solver -> solveStatsLabel.setText(String.format("Раскрыто клеток: %d, время поиска: %.1f мс",
+                                solver.getExpanded(), solver.getElapsedNanos() / 1e6)));
+            } else if (session.is(MazeSession.State.GENERATED)) {
                 grid.setAutoSolve(false);
-            } else if (!generated) {
+            } else if (!session.isGenerated()) {
                 JOptionPane.showMessageDialog(leftPanel.getRootPane(), "Лабиринт ещё не готов. Пожалуйста, подождите.");
             }
         });
@@ -476,6 +671,19 @@ public class MainFrame {
         return leftPanel;
     }
 
+    private void trackGenerationProgress() {
+        final MazeGridPanel generating = grid;
+        final Timer timer = new Timer(100, null);
+        timer.addActionListener(e -> {
+            double progress = generating.getGenerationProgress();
+            generationProgress.setValue((int) Math.round(progress * 100));
+            if (progress >= 1 || generating != grid || !generating.getSession().is(MazeSession.State.GENERATING)) {
+                timer.stop();
+            }
+        });
+        timer.start();
+    }
+
     public int getRows() {
         return rows;
     }
@@ -1,46 +1,105 @@
 package com.company.gui;
 
-import com.company.generator.GenerationAlgorithm;
-import com.company.generator.PrimGenerator;
-import com.company.solver.LeeSolver;
-import com.company.solver.SolvingAlgorithm;
+import com.company.generator.GeneratorProvider;
+import com.company.generator.MazeGenerator;
+import com.company.generator.StreamingGeneratorProvider;
+import com.company.io.MazeFileReader;
+import com.company.model.GridListener;
+import com.company.model.MazeGrid;
+import com.company.replay.StepLog;
+import com.company.replay.StepPlayer;
+import com.company.solver.AbstractSolver;
+import com.company.solver.DistanceField;
+import com.company.solver.SolverProvider;
 import com.company.util.ColorScheme;
+import com.company.util.ImagePanel;
 
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.awt.event.MouseMotionListener;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Random;
-
-public class MazeGridPanel extends JPanel implements KeyListener, MouseListener, Serializable {
-
-    private final List<Cell> grid = new ArrayList<>();
-    private List<Cell> currentCells = new ArrayList<>();
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+
+public class MazeGridPanel extends ImagePanel implements KeyListener, MouseListener, MouseMotionListener,
+        MouseWheelListener, Serializable {
+
+    private static final int DIRTY_LIMIT = 64;
+    private static final int WALL_MARGIN = 2;
+    private static final long WALL_LAYER_LIMIT = 2048L * 2048L;
+    private static final double RASTER_WALL_CELL_SIZE = 1.5;
+    private static final int MIN_HIGHLIGHT_SIZE = 4;
+    private static final double ZOOM_STEP = 1.25;
+    private final MazeGrid grid;
+    private final MazeSession session;
+    private final Viewport viewport;
+    private final transient DirtyCells dirty = new DirtyCells(DIRTY_LIMIT);
+    private transient BufferedImage raster;
+    private transient boolean rasterStale;
+    private transient int dragX;
+    private transient int dragY;
+    private int current = -1;
     private int rows;
     private int cols;
     private Cell start;
     private Cell goal;
+    private transient DoubleSupplier generationProgress = () -> 0;
+    private transient StepAnimator animator;
+    private transient StepLog log;
+    private transient StepPlayer player;
+    private transient MazeSession.State replayedFrom;
+    private transient boolean replaying;
+    private transient CompletableFuture<DistanceField> distances;
+    private transient long distancesVersion;
+    private transient int distancesGoal;
+    private transient Cell pendingEntrance;
     private transient Cell manualCurrent;
     private transient boolean clickable;
     private transient boolean manualSolve;
 
-    public MazeGridPanel(int rows, int cols) {
-        this.rows = rows;
-        this.cols = cols;
-        setOpaque(false);
-        createGrid();
-        start = grid.get(randomIndex(true));
-        goal = grid.get(randomIndex(false));
+    public MazeGridPanel(int rows, int cols, MazeSession session) {
+        this(new MazeGrid(rows, cols), session);
+        start = cell(randomIndex(true));
+        goal = cell(randomIndex(false));
         manualCurrent = start;
-        this.clickable = MainFrame.manualEntranceExit;
-        this.manualSolve = !MainFrame.autoSolve;
+    }
+
+    public MazeGridPanel(MazeGrid grid, int start, int goal, MazeSession session) {
+        this(grid, session);
+        this.start = cell(start);
+        this.goal = cell(goal);
+        manualCurrent = this.start;
+    }
+
+    private MazeGridPanel(MazeGrid grid, MazeSession session) {
+        this.grid = grid;
+        this.session = session;
+        this.rows = grid.getWidth();
+        this.cols = grid.getHeight();
+        setOpaque(false);
+        viewport = new Viewport(rows, cols, session.getCellWidth(), session.getCellHeight(),
+                MainFrame.WIDTH, MainFrame.HEIGHT);
+        this.clickable = session.isManualEntranceExit();
+        this.manualSolve = !session.isAutoSolve();
         addMouseListener(this);
+        addMouseMotionListener(this);
+        addMouseWheelListener(this);
         addKeyListener(this);
     }
 
@@ -56,18 +115,21 @@ public class MazeGridPanel extends JPanel implements KeyListener, MouseListener,
         return cell.getX() == (rows - 1) || cell.getY() == (cols - 1);
     }
 
+    // Picks uniformly among the edge cells without enumerating the whole grid.
     private int randomIndex(boolean start) {
-        List<Integer> ids = new ArrayList<>();
-        for (Cell cell : grid) {
-            if (start) {
-                if (isOnStartEdge(cell))
-                    ids.add(cell.getId());
-            } else {
-                if (isOnEndEdge(cell))
-                    ids.add(cell.getId());
-            }
+        int k = new Random().nextInt(rows + cols - 1);
+        if (start) {
+            return k < rows ? grid.index(k, 0) : grid.index(0, k - rows + 1);
         }
-        return ids.get(new Random().nextInt(ids.size()));
+        return k < rows ? grid.index(k, cols - 1) : grid.index(rows - 1, k - rows);
+    }
+
+    public MazeGrid getGrid() {
+        return grid;
+    }
+
+    public MazeSession getSession() {
+        return session;
     }
 
     public void setClickable(boolean clickable) {
@@ -100,7 +162,7 @@ public class MazeGridPanel extends JPanel implements KeyListener, MouseListener,
             }
         }
         candidate = getCellByCoordinates(tx, ty);
-        if (candidate != null && !isOutOfBorder(tx, ty) && !candidate.isDeadEnd() && manualCurrent.getValidMoveNeighbours(grid).contains(candidate)) {
+        if (candidate != null && !isOutOfBorder(tx, ty) && !candidate.isDeadEnd() && manualCurrent.getValidMoveNeighbours().contains(candidate)) {
             manualCurrent = candidate;
         }
         return manualCurrent;
@@ -111,114 +173,546 @@ public class MazeGridPanel extends JPanel implements KeyListener, MouseListener,
     }
 
     private Cell getCellByCoordinates(int x, int y) {
-        return grid.stream()
-                .filter(c -> (x == (c.getX()) && y == c.getY()))
-                .findAny()
-                .orElse(null);
+        return grid.contains(x, y) ? cell(grid.index(x, y)) : null;
+    }
+
+    private Cell cell(int id) {
+        return new Cell(grid, id);
     }
 
     private int getCellIdByCoordinates(int clickX, int clickY) {
-        int totalX = this.getWidth();
-        int totalY = this.getHeight();
-        int cellWidth = totalX / rows;
-        int cellHeight = totalY / cols;
+        int x = viewport.cellX(clickX);
+        int y = viewport.cellY(clickY);
+        return grid.contains(x, y) ? grid.index(x, y) : -1;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(MainFrame.WIDTH + 10, MainFrame.HEIGHT + 10);
+    }
 
+    // Returns false when the maze is not empty or is already being generated.
+    public boolean generate(GeneratorProvider provider) {
+        if (!session.transition(MazeSession.State.EMPTY, MazeSession.State.GENERATING)) {
+            return false;
+        }
+        if (provider instanceof StreamingGeneratorProvider) {
+            generateStreaming((StreamingGeneratorProvider) provider);
+            return true;
+        }
+        startLog();
+        MazeGenerator generator = provider.create(grid, start.getId(), new Random().nextLong());
+        generationProgress = generator::getProgress;
+        animate(new StepAnimator(generator, this, this::generationFinished));
+        return true;
+    }
 
-        int cellPosX = 0;
-        for (int i = cellWidth; i < totalX; i += cellWidth) {
-            if (clickX < i) {
-                break;
+    // Streaming generators write their rows into a temporary file one row per step; the
+    // finished maze is then read back through the windowed reader. The file is removed
+    // however the generation ends, and at exit should that fail.
+    private void generateStreaming(StreamingGeneratorProvider provider) {
+        Path file = null;
+        OutputStream out = null;
+        MazeGenerator generator;
+        try {
+            file = Files.createTempFile("maze", ".maze");
+            file.toFile().deleteOnExit();
+            out = Files.newOutputStream(file);
+            generator = provider.create(rows, cols, start.getId(), goal.getId(), new Random().nextLong(), out);
+        } catch (IOException | RuntimeException e) {
+            discard(file, out);
+            session.transition(MazeSession.State.GENERATING, MazeSession.State.EMPTY);
+            JOptionPane.showMessageDialog(null, String.format("Не удалось создать лабиринт: %s", e.getMessage()),
+                    "Ошибка", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        Path written = file;
+        OutputStream stream = out;
+        startLog();
+        generationProgress = generator::getProgress;
+        animate(new StepAnimator(generator, this, () -> {
+            // A maze that could not be read back has no route through it, so the session
+            // goes back to EMPTY instead of on to GENERATED.
+            try {
+                stream.close();
+                try (MazeFileReader reader = new MazeFileReader(written)) {
+                    reader.readWindow(0, 0, grid);
+                }
+            } catch (IOException e) {
+                discard(written, stream);
+                aborted(null);
+                if (!GraphicsEnvironment.isHeadless()) {
+                    JOptionPane.showMessageDialog(null, String.format("Не удалось прочитать лабиринт: %s",
+                            e.getMessage()), "Ошибка", JOptionPane.ERROR_MESSAGE);
+                }
+                return;
             }
-            cellPosX++;
+            discard(written, stream);
+            grid.setAllVisited(true);
+            generationFinished();
+        }), failure -> {
+            discard(written, stream);
+            aborted(failure);
+        });
+    }
+
+    private static void discard(Path file, OutputStream out) {
+        try {
+            if (out != null) {
+                out.close();
+            }
+        } catch (IOException e) {
+            // Nothing is read back from a discarded file.
         }
-        int cellPosY = 0;
-        for (int i = cellHeight; i < totalY; i += cellHeight) {
-            if (clickY < i) {
-                break;
+        try {
+            if (file != null) {
+                Files.deleteIfExists(file);
             }
-            cellPosY++;
+        } catch (IOException e) {
+            // Left to deleteOnExit.
         }
+    }
+
+    private void generationFinished() {
+        log.claim();
+        log.close();
+        refresh();
+        session.transition(MazeSession.State.GENERATING, MazeSession.State.GENERATED);
+    }
+
+    // Redraws the whole maze after changes that were not tracked cell by cell.
+    private void refresh() {
+        setImage(null);
+        rasterStale = true;
+        repaint();
+    }
 
-        int cellId = 0;
-        for (int i = 0; i <= cellPosX; i++) {
-            if (cellPosX == 0)
-                cellId = cellPosY;
-            if (cellPosX == i)
-                cellId = cellPosY + (cols * i);
+    // Every run is recorded; solving continues the generation log unless the grid was
+    // changed by hand in between. Changes made on the EDT while the run is set up are
+    // recorded too, the engine's worker takes over once it starts.
+    private void startLog() {
+        if (log == null || !log.resume()) {
+            log = new StepLog(grid);
+            grid.setListener(log);
         }
+        log.claim();
+    }
 
-        return cellId;
+    public double getGenerationProgress() {
+        return generationProgress.getAsDouble();
     }
 
-    private void createGrid() {
-        int rowCounter = 0;
-        for (int x = 0; x < rows; x++) {
-            for (int y = 0; y < cols; y++) {
-                Cell cell = new Cell(x, y);
-                cell.setId(y + rowCounter);
-                grid.add(cell);
+    // Returns false unless the maze is generated and not solved yet.
+    public boolean solve(SolverProvider provider, Consumer<AbstractSolver> onSolved) {
+        if (!session.transition(MazeSession.State.GENERATED, MazeSession.State.SOLVING)) {
+            return false;
+        }
+        startLog();
+        final AbstractSolver solver = provider.create(grid);
+        solver.reset(start.getId(), goal.getId());
+        animate(new StepAnimator(solver, this, cell -> grid.setDeadEnd(cell, true), () -> {
+            log.claim();
+            solver.markPath();
+            log.close();
+            session.transition(MazeSession.State.SOLVING, MazeSession.State.SOLVED);
+            if (session.isManualEntranceExit()) {
+                prepareDistances();
             }
-            rowCounter += rows;
+            onSolved.accept(solver);
+        }));
+        return true;
+    }
+
+    private void animate(StepAnimator animator) {
+        animate(animator, this::aborted);
+    }
+
+    private void animate(StepAnimator animator, Consumer<RuntimeException> onAbort) {
+        if (log != null && !replaying) {
+            animator.setLog(log);
         }
+        animator.setOnAbort(onAbort);
+        this.animator = animator;
+        animator.start();
     }
 
-    @Override
-    public Dimension getPreferredSize() {
-        return new Dimension(MainFrame.WIDTH + 10, MainFrame.HEIGHT + 10);
+    // A run that failed or was cancelled leaves the maze in the last stable state it can
+    // be trusted in: an interrupted solve goes back to the generated maze, anything else
+    // starts over from an empty grid. The log can no longer be continued either way.
+    private void aborted(RuntimeException failure) {
+        grid.setListener(GridListener.NONE);
+        log = null;
+        replaying = false;
+        if (session.transition(MazeSession.State.SOLVING, MazeSession.State.GENERATED)) {
+            grid.clearSolution();
+        } else {
+            grid.clear();
+            session.transition(MazeSession.State.GENERATING, MazeSession.State.EMPTY);
+            session.transition(MazeSession.State.REPLAYING, MazeSession.State.EMPTY);
+        }
+        refresh();
+        if (failure != null && !GraphicsEnvironment.isHeadless()) {
+            JOptionPane.showMessageDialog(null, String.format("Ошибка алгоритма: %s", failure),
+                    "Ошибка", JOptionPane.ERROR_MESSAGE);
+        }
     }
 
-    public void generate(GenerationAlgorithm algorithm) {
-        switch (algorithm) {
-            case PRIM:
-                new PrimGenerator(grid, this).generate();
-                break;
-            default:
-                throw new IllegalArgumentException(String.format("Unknown algorigthm: %s", algorithm));
+    // Whether the recorded runs can be played back: the maze is idle, and the log still
+    // ends at the grid shown.
+    public boolean canReplay() {
+        return log != null && !log.isStale() && !log.isTruncated() && !replaying
+                && (session.is(MazeSession.State.GENERATED) || session.is(MazeSession.State.SOLVED)
+                || session.is(MazeSession.State.REPLAYING));
+    }
+
+    public boolean isReplaying() {
+        return replaying;
+    }
+
+    public int getReplayStep() {
+        return player != null && session.is(MazeSession.State.REPLAYING) ? player.getStep() : getReplaySteps();
+    }
+
+    public int getReplaySteps() {
+        return log != null ? log.getSteps() : 0;
+    }
+
+    // Plays the recorded runs at the session speed from the step last sought, or from the
+    // start when the log was at its end.
+    public boolean replay(Runnable onFinished) {
+        if (!enterReplay()) {
+            return false;
+        }
+        if (player.getStep() == player.getSteps()) {
+            player.seek(0);
+            refresh();
         }
+        replaying = true;
+        animate(new StepAnimator(player, this, () -> {
+            replaying = false;
+            leaveReplay();
+            refresh();
+            onFinished.run();
+        }));
+        return true;
     }
 
-    public void solve(SolvingAlgorithm algorithm) {
-        switch (algorithm) {
-            case LEE:
-                new LeeSolver(grid, this).solve();
-                break;
-            default:
-                throw new IllegalArgumentException(String.format("Unknown algorigthm: %s", algorithm));
+    // Shows the maze as it was after the given step; seeking to the last step leaves replay.
+    public boolean seek(int step) {
+        if (!enterReplay()) {
+            return false;
+        }
+        player.seek(step);
+        setCurrent(player.getCurrent());
+        if (step == player.getSteps()) {
+            leaveReplay();
+        }
+        refresh();
+        return true;
+    }
+
+    // Moves the entrance of a solved maze and shows the shortest path from it, walking the
+    // distance field of the goal instead of searching again. The field is built off the EDT
+    // when it is missing, and the path follows as soon as it is ready; of several clicks
+    // made meanwhile only the last one is shown.
+    public boolean solveFrom(Cell entrance) {
+        if (!session.is(MazeSession.State.SOLVED) || !isOnEdge(entrance)) {
+            return false;
+        }
+        pendingEntrance = entrance;
+        prepareDistances().thenAcceptAsync(field -> showPathFrom(entrance, field), EventQueue::invokeLater);
+        return true;
+    }
+
+    private void showPathFrom(Cell entrance, DistanceField field) {
+        if (entrance != pendingEntrance || !session.is(MazeSession.State.SOLVED)) {
+            return;
+        }
+        if (!isCurrent(field)) {
+            solveFrom(entrance);
+            return;
+        }
+        pendingEntrance = null;
+        // The path shown may have come from a solver that does not take the shortest route,
+        // so it is cleared from the grid's own path cells rather than by walking the field.
+        for (int cell = grid.nextPath(0); cell != -1; cell = grid.nextPath(cell + 1)) {
+            grid.setPath(cell, false);
+            dirty.mark(cell);
+        }
+        setStart(entrance);
+        for (int cell = entrance.getId(); cell != -1; cell = field.next(cell)) {
+            grid.setPath(cell, true);
+            dirty.mark(cell);
+        }
+        repaintDirty();
+    }
+
+    // Starts building the distance field in the background unless one for the current
+    // wall version and goal is already there or on its way. A build for older walls or
+    // another goal is abandoned rather than waited for.
+    private CompletableFuture<DistanceField> prepareDistances() {
+        long version = grid.getWallVersion();
+        int target = goal.getId();
+        if (distances == null || distances.isCompletedExceptionally()
+                || distancesVersion != version || distancesGoal != target) {
+            distancesVersion = version;
+            distancesGoal = target;
+            distances = CompletableFuture.supplyAsync(() -> new DistanceField(grid, target, version));
+        }
+        return distances;
+    }
+
+    // Checked on the EDT once a build completes: the walls may have changed while it ran.
+    private boolean isCurrent(DistanceField field) {
+        return field.isValid(grid, goal.getId()) && field.getWallVersion() == distancesVersion;
+    }
+
+    public void exportLog(Path path) throws IOException {
+        if (log == null) {
+            throw new IllegalStateException("Nothing recorded yet");
+        }
+        log.write(path);
+    }
+
+    private boolean enterReplay() {
+        if (!canReplay()) {
+            return false;
+        }
+        if (session.is(MazeSession.State.REPLAYING)) {
+            return true;
+        }
+        MazeSession.State from = session.getState();
+        if (!session.transition(from, MazeSession.State.REPLAYING)) {
+            return false;
+        }
+        replayedFrom = from;
+        grid.setListener(GridListener.NONE);
+        player = new StepPlayer(log);
+        return true;
+    }
+
+    private void leaveReplay() {
+        if (player.getStep() == player.getSteps()) {
+            grid.setListener(log);
+            session.transition(MazeSession.State.REPLAYING, replayedFrom);
+        }
+    }
+
+    // A panel taken off the screen stops its engine instead of running it to the end.
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        if (animator != null) {
+            animator.cancel();
         }
     }
 
-    public void setCurrent(Cell current) {
-        if (currentCells.isEmpty()) {
-            currentCells.add(current);
+    public void markDirty(DirtyCells cells) {
+        dirty.addAll(cells);
+    }
+
+    public void setCurrent(int current) {
+        dirty.mark(this.current);
+        this.current = current;
+        dirty.mark(current);
+    }
+
+    public void repaintDirty() {
+        boolean wallsChanging = session.is(MazeSession.State.GENERATING) || session.is(MazeSession.State.REPLAYING);
+        if (dirty.isOverflowed()) {
+            if (wallsChanging) {
+                setImage(null);
+            }
+            rasterStale = true;
+            repaint();
         } else {
-            currentCells.set(0, current);
+            boolean rasterShown = isRasterShown();
+            BufferedImage layer = (BufferedImage) getImage();
+            for (int i = 0; i < dirty.size(); i++) {
+                Rectangle bounds = cellBounds(dirty.get(i));
+                if (wallsChanging && layer != null) {
+                    renderWalls(layer, bounds);
+                }
+                Rectangle screen = viewport.toScreen(bounds);
+                if (rasterShown) {
+                    screen.grow(1, 1);
+                    if (raster != null && !rasterStale) {
+                        renderRaster(screen.intersection(new Rectangle(raster.getWidth(), raster.getHeight())));
+                    }
+                }
+                paintImmediately(screen);
+            }
+        }
+        dirty.clear();
+    }
+
+    // The classic wall layer is used at 1:1 scale while it stays reasonably small;
+    // every other zoom level and every huge maze goes through the raster view.
+    private boolean isRasterShown() {
+        return viewport.getScale() != 1
+                || (long) (viewport.worldWidth() + WALL_MARGIN) * (viewport.worldHeight() + WALL_MARGIN) > WALL_LAYER_LIMIT;
+    }
+
+    private BufferedImage wallLayer() {
+        BufferedImage layer = (BufferedImage) getImage();
+        if (layer == null) {
+            layer = new BufferedImage(viewport.worldWidth() + WALL_MARGIN, viewport.worldHeight() + WALL_MARGIN,
+                    BufferedImage.TYPE_INT_ARGB);
+            setImage(layer);
+            renderWalls(layer, new Rectangle(0, 0, layer.getWidth(), layer.getHeight()));
         }
+        return layer;
+    }
+
+    private void renderWalls(BufferedImage layer, Rectangle area) {
+        Graphics2D g = layer.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fill(area);
+        g.setComposite(AlphaComposite.SrcOver);
+        g.setClip(area);
+        int x0 = Math.max(0, (area.x - WALL_MARGIN) / session.getCellWidth());
+        int y0 = Math.max(0, (area.y - WALL_MARGIN) / session.getCellHeight());
+        int x1 = Math.min(rows - 1, (area.x + area.width + WALL_MARGIN) / session.getCellWidth());
+        int y1 = Math.min(cols - 1, (area.y + area.height + WALL_MARGIN) / session.getCellHeight());
+        for (int y = y0; y <= y1; y++) {
+            for (int x = x0; x <= x1; x++) {
+                cell(grid.index(x, y)).drawWalls(g, session);
+            }
+        }
+        g.dispose();
+    }
+
+    private Rectangle cellBounds(int cell) {
+        return new Rectangle(grid.x(cell) * session.getCellWidth() - WALL_MARGIN,
+                grid.y(cell) * session.getCellHeight() - WALL_MARGIN,
+                session.getCellWidth() + 2 * WALL_MARGIN, session.getCellHeight() + 2 * WALL_MARGIN);
     }
 
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        for (Cell c : grid) {
-            c.draw(g);
+    public void paintComponent(Graphics g) {
+        long startedAt = System.nanoTime();
+        if (isRasterShown()) {
+            g.drawImage(raster(), 0, 0, null);
+        } else {
+            wallLayer();
+            Graphics2D g2 = (Graphics2D) g.create();
+            viewport.apply(g2);
+            Rectangle clip = g.getClipBounds();
+            Rectangle cells = viewport.visibleCells(clip != null ? clip : new Rectangle(getWidth(), getHeight()), WALL_MARGIN);
+            for (int y = cells.y; y < cells.y + cells.height; y++) {
+                for (int x = cells.x; x < cells.x + cells.width; x++) {
+                    cell(grid.index(x, y)).drawFill(g2, session);
+                }
+            }
+            super.paintComponent(g2);
+            g2.dispose();
+        }
+        if (current != -1) {
+            highlight(g, current, ColorScheme.EXTRA_MEDIUM);
+        }
+        highlight(g, start.getId(), ColorScheme.ENTRANCE);
+        highlight(g, goal.getId(), ColorScheme.EXIT);
+        Toolkit.getDefaultToolkit().sync();
+        session.getMetrics().frameRendered(System.nanoTime() - startedAt);
+    }
+
+    private void highlight(Graphics g, int cell, Color color) {
+        Rectangle bounds = viewport.cellBounds(grid.x(cell), grid.y(cell), new Rectangle());
+        bounds.grow(Math.max(0, (MIN_HIGHLIGHT_SIZE - bounds.width + 1) / 2),
+                Math.max(0, (MIN_HIGHLIGHT_SIZE - bounds.height + 1) / 2));
+        g.setColor(color);
+        g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+    }
+
+    private BufferedImage raster() {
+        int width = Math.max(1, getWidth());
+        int height = Math.max(1, getHeight());
+        if (raster == null || raster.getWidth() != width || raster.getHeight() != height) {
+            raster = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            rasterStale = true;
+        }
+        if (rasterStale) {
+            renderRaster(new Rectangle(width, height));
+            rasterStale = false;
         }
-        for (Cell c : currentCells) {
-            if (c != null) c.displayAsColor(g, ColorScheme.EXTRA_MEDIUM);
+        return raster;
+    }
+
+    // Colours every screen pixel of the area after the cell under its centre, so the cost
+    // depends on the panel size rather than on the maze or the zoom. Once a cell spans a
+    // pixel and a half its walls are drawn as edges; below that a sample shows a wall when
+    // the cell keeps both of its own walls, which renders wall density.
+    private void renderRaster(Rectangle area) {
+        int[] pixels = ((DataBufferInt) raster.getRaster().getDataBuffer()).getData();
+        int width = raster.getWidth();
+        double scale = viewport.getScale();
+        double cellWidth = session.getCellWidth() * scale;
+        double cellHeight = session.getCellHeight() * scale;
+        boolean edges = viewport.getCellSize() >= RASTER_WALL_CELL_SIZE;
+        double edge = Math.max(1, Cell.wallThickness(session) * scale / 2);
+        int wall = ColorScheme.EXTRA_LIGHT.getRGB();
+        int path = ColorScheme.PATH.getRGB();
+        int deadEnd = ColorScheme.DEAD_END.getRGB();
+        int visited = ColorScheme.VISITED.getRGB();
+        for (int sy = area.y; sy < area.y + area.height; sy++) {
+            int offset = sy * width;
+            double wy = viewport.worldY(sy + 0.5) / session.getCellHeight();
+            int y = (int) Math.floor(wy);
+            if (y < 0 || y >= cols) {
+                Arrays.fill(pixels, offset + area.x, offset + area.x + area.width, 0);
+                continue;
+            }
+            double fy = (wy - y) * cellHeight;
+            for (int sx = area.x; sx < area.x + area.width; sx++) {
+                double wx = viewport.worldX(sx + 0.5) / session.getCellWidth();
+                int x = (int) Math.floor(wx);
+                if (x < 0 || x >= rows) {
+                    pixels[offset + sx] = 0;
+                    continue;
+                }
+                int cell = grid.index(x, y);
+                boolean isWall;
+                if (edges) {
+                    double fx = (wx - x) * cellWidth;
+                    isWall = fx < edge && grid.hasWall(cell, MazeGrid.LEFT)
+                            || fx >= cellWidth - edge && grid.hasWall(cell, MazeGrid.RIGHT)
+                            || fy < edge && grid.hasWall(cell, MazeGrid.TOP)
+                            || fy >= cellHeight - edge && grid.hasWall(cell, MazeGrid.BOTTOM);
+                } else {
+                    isWall = grid.hasWall(cell, MazeGrid.RIGHT) && grid.hasWall(cell, MazeGrid.BOTTOM);
+                }
+                int color;
+                if (isWall) {
+                    color = wall;
+                } else if (grid.isPath(cell)) {
+                    color = path;
+                } else if (grid.isDeadEnd(cell)) {
+                    color = deadEnd;
+                } else if (grid.isVisited(cell)) {
+                    color = visited;
+                } else {
+                    color = 0;
+                }
+                pixels[offset + sx] = color;
+            }
         }
-        start.displayAsColor(g, ColorScheme.ENTRANCE);
-        goal.displayAsColor(g, ColorScheme.EXIT);
     }
 
+    private void repaintCell(int cell) {
+        dirty.mark(cell);
+        repaintDirty();
+    }
 
     private void resetStart() {
-        start.resetCell(start, getGraphics());
+        start.reset();
+        repaintCell(start.getId());
         this.start = null;
-        revalidate();
     }
 
     private void resetGoal() {
-        goal.resetCell(goal, getGraphics());
+        goal.reset();
+        repaintCell(goal.getId());
         this.goal = null;
-        revalidate();
     }
 
     public Cell getStart() {
@@ -229,8 +723,7 @@ public class MazeGridPanel extends JPanel implements KeyListener, MouseListener,
         resetStart();
         this.start = start;
         manualCurrent = start;
-        start.displayAsColor(getGraphics(), ColorScheme.ENTRANCE);
-        revalidate();
+        repaintCell(start.getId());
     }
 
     public Cell getGoal() {
@@ -240,8 +733,7 @@ public class MazeGridPanel extends JPanel implements KeyListener, MouseListener,
     public void setGoal(Cell goal) {
         resetGoal();
         this.goal = goal;
-        goal.displayAsColor(getGraphics(), ColorScheme.EXIT);
-        revalidate();
+        repaintCell(goal.getId());
     }
 
     public void setAutoSolve(boolean auto) {
@@ -257,15 +749,13 @@ public class MazeGridPanel extends JPanel implements KeyListener, MouseListener,
 
     @Override
     public void keyPressed(KeyEvent e) {
-        if (!MainFrame.autoSolve) {
+        if (!session.isAutoSolve()) {
             int c = e.getKeyCode();
             manualCurrent.setVisited(true);
             Cell candidate = getCellFromKeyboard(c);
             manualCurrent = candidate;
-            if (manualCurrent.getColor() != ColorScheme.PATH) {
-                manualCurrent.displayAsColor(getGraphics(), ColorScheme.PATH);
-                validate();
-            }
+            manualCurrent.setPath(true);
+            repaintCell(manualCurrent.getId());
             if (manualCurrent.equals(goal)) {
                 JOptionPane.showMessageDialog(null, "Выход найден", "Поздравляем", JOptionPane.INFORMATION_MESSAGE);
             }
@@ -278,30 +768,35 @@ public class MazeGridPanel extends JPanel implements KeyListener, MouseListener,
 
     @Override
     public void mouseClicked(MouseEvent e) {
-        if (clickable && !MainFrame.generated) {
+        int id = getCellIdByCoordinates(e.getX(), e.getY());
+        if (id == -1) {
+            return;
+        }
+        if (clickable && session.is(MazeSession.State.EMPTY)) {
             if (SwingUtilities.isLeftMouseButton(e)) {
-                Cell startCandidate = grid.get(getCellIdByCoordinates(e.getX(), e.getY()));
+                Cell startCandidate = cell(id);
                 if (isOnEdge(startCandidate))
                     setStart(startCandidate);
             }
             if (SwingUtilities.isRightMouseButton(e)) {
-                Cell goalCandidate = grid.get(getCellIdByCoordinates(e.getX(), e.getY()));
+                Cell goalCandidate = cell(id);
                 if (isOnEdge(goalCandidate))
                     setGoal(goalCandidate);
             }
         }
+        if (clickable && !manualSolve && SwingUtilities.isLeftMouseButton(e)) {
+            solveFrom(cell(id));
+        }
         if (clickable && manualSolve) {
             if (SwingUtilities.isLeftMouseButton(e)) {
-                Cell candidate = grid.get(getCellIdByCoordinates(e.getX(), e.getY()));
-                if (!candidate.isDeadEnd() && manualCurrent.getAllNeighbours(grid).contains(candidate) && manualCurrent.getValidMoveNeighbours(grid).contains(candidate)) {
+                Cell candidate = cell(id);
+                if (!candidate.isDeadEnd() && manualCurrent.getAllNeighbours().contains(candidate) && manualCurrent.getValidMoveNeighbours().contains(candidate)) {
                     manualCurrent = candidate;
                 }
                 manualCurrent.setVisited(true);
-                manualCurrent = grid.get(getCellIdByCoordinates(e.getX(), e.getY()));
-                if (manualCurrent.getColor() != ColorScheme.PATH) {
-                    manualCurrent.displayAsColor(getGraphics(), ColorScheme.PATH);
-                    validate();
-                }
+                manualCurrent = cell(id);
+                manualCurrent.setPath(true);
+                repaintCell(manualCurrent.getId());
                 if (manualCurrent.equals(goal)) {
                     JOptionPane.showMessageDialog(null, "Выход найден", "Поздравляем", JOptionPane.INFORMATION_MESSAGE);
                 }
@@ -312,7 +807,8 @@ public class MazeGridPanel extends JPanel implements KeyListener, MouseListener,
 
     @Override
     public void mousePressed(MouseEvent e) {
-
+        dragX = e.getX();
+        dragY = e.getY();
     }
 
     @Override
@@ -330,4 +826,27 @@ public class MazeGridPanel extends JPanel implements KeyListener, MouseListener,
 
     }
 
+    @Override
+    public void mouseDragged(MouseEvent e) {
+        if (viewport.pan(e.getX() - dragX, e.getY() - dragY)) {
+            rasterStale = true;
+            repaint();
+        }
+        dragX = e.getX();
+        dragY = e.getY();
+    }
+
+    @Override
+    public void mouseMoved(MouseEvent e) {
+
+    }
+
+    @Override
+    public void mouseWheelMoved(MouseWheelEvent e) {
+        if (viewport.zoom(Math.pow(ZOOM_STEP, -e.getPreciseWheelRotation()), e.getX(), e.getY())) {
+            rasterStale = true;
+            repaint();
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.company.gui;
+
+import com.company.metrics.EngineMetrics;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Per-maze context shared by the panel, its animators and the controls. The cell size is
+// fixed when the maze is created; the settings are volatile and the run state moves only
+// through compareAndSet, so engines and the EDT can read them from any thread and two
+// controls cannot start the same phase twice. Each session keeps its own engine metrics.
+public class MazeSession implements Serializable {
+
+    public enum State {
+        EMPTY,
+        GENERATING,
+        GENERATED,
+        SOLVING,
+        SOLVED,
+        REPLAYING
+    }
+
+    private static final int MIN_CELL_SIZE = 4;
+    private static final int DEFAULT_SPEED = 50;
+
+    private final int cellWidth;
+    private final int cellHeight;
+    private final AtomicReference<State> state;
+    private final transient EngineMetrics metrics = new EngineMetrics();
+    private volatile int speed = DEFAULT_SPEED;
+    private volatile boolean manualEntranceExit;
+    private volatile boolean autoSolve = true;
+
+    public MazeSession(int gridWidth, int gridHeight, State state) {
+        this.cellWidth = cellSize(MainFrame.WIDTH, gridWidth);
+        this.cellHeight = cellSize(MainFrame.HEIGHT, gridHeight);
+        this.state = new AtomicReference<>(state);
+    }
+
+    // Cells shrink to fit the maze on screen, down to a size that still shows the walls.
+    private static int cellSize(int screen, int cells) {
+        return Math.max(MIN_CELL_SIZE, Math.floorDiv(screen, cells));
+    }
+
+    public int getCellWidth() {
+        return cellWidth;
+    }
+
+    public int getCellHeight() {
+        return cellHeight;
+    }
+
+    public EngineMetrics getMetrics() {
+        return metrics;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public boolean is(State state) {
+        return this.state.get() == state;
+    }
+
+    // The maze can be saved or solved once its walls are final.
+    public boolean isGenerated() {
+        State current = state.get();
+        return current == State.GENERATED || current == State.SOLVING || current == State.SOLVED;
+    }
+
+    public boolean transition(State from, State to) {
+        return state.compareAndSet(from, to);
+    }
+
+    public int getSpeed() {
+        return speed;
+    }
+
+    public void setSpeed(int speed) {
+        this.speed = speed;
+    }
+
+    public boolean isManualEntranceExit() {
+        return manualEntranceExit;
+    }
+
+    public void setManualEntranceExit(boolean manualEntranceExit) {
+        this.manualEntranceExit = manualEntranceExit;
+    }
+
+    public boolean isAutoSolve() {
+        return autoSolve;
+    }
+
+    public void setAutoSolve(boolean autoSolve) {
+        this.autoSolve = autoSolve;
+    }
+}
@@ -0,0 +1,74 @@
+package com.company.gui;
+
+import com.company.metrics.EngineMetrics;
+import com.company.metrics.MetricsListener;
+
+import javax.swing.*;
+import javax.swing.border.TitledBorder;
+import java.awt.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Shows the EngineMetrics counters of one session. Updates arrive once per step and per
+// frame, possibly off the EDT; at most one refresh is queued at a time, the rest are dropped,
+// and a queued refresh shows whichever session the panel follows by then.
+public class MetricsPanel extends JPanel implements MetricsListener {
+
+    private final JLabel engineLabel = new JLabel();
+    private final JLabel stepsLabel = new JLabel();
+    private final JLabel carvedLabel = new JLabel();
+    private final JLabel frontierLabel = new JLabel();
+    private final JLabel expandedLabel = new JLabel();
+    private final JLabel queueLabel = new JLabel();
+    private final JLabel frameLabel = new JLabel();
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private volatile EngineMetrics metrics;
+
+    public MetricsPanel() {
+        setLayout(new GridBagLayout());
+        setBorder(BorderFactory.createTitledBorder(BorderFactory.createEtchedBorder(), "Статистика",
+                TitledBorder.DEFAULT_JUSTIFICATION, TitledBorder.DEFAULT_POSITION, null, null));
+        JLabel[] labels = {engineLabel, stepsLabel, carvedLabel, frontierLabel, expandedLabel, queueLabel, frameLabel};
+        for (int i = 0; i < labels.length; i++) {
+            GridBagConstraints gbc = new GridBagConstraints();
+            gbc.gridx = 0;
+            gbc.gridy = i;
+            gbc.weightx = 1.0;
+            gbc.anchor = GridBagConstraints.WEST;
+            gbc.insets = new Insets(0, 10, 0, 10);
+            add(labels[i], gbc);
+        }
+    }
+
+    public void setMetrics(EngineMetrics metrics) {
+        if (this.metrics != null) {
+            this.metrics.removeListener(this);
+        }
+        this.metrics = metrics;
+        metrics.addListener(this);
+        updated(metrics);
+    }
+
+    @Override
+    public void updated(EngineMetrics metrics) {
+        if (refreshQueued.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(() -> {
+                refreshQueued.set(false);
+                refresh(this.metrics);
+            });
+        }
+    }
+
+    private void refresh(EngineMetrics metrics) {
+        engineLabel.setText(String.format("Алгоритм: %s", metrics.getEngine()));
+        stepsLabel.setText(String.format("Шагов: %d, байт на шаг: %.0f", metrics.getSteps(), metrics.getBytesPerStep()));
+        carvedLabel.setText(String.format("Вырезано: %d, кл/с: %.0f", metrics.getCellsCarved(),
+                metrics.getCellsCarvedPerSecond()));
+        frontierLabel.setText(String.format("Фронт: %d, макс.: %d", metrics.getFrontierSize(),
+                metrics.getPeakFrontierSize()));
+        expandedLabel.setText(String.format("Раскрыто: %d", metrics.getCellsExpanded()));
+        queueLabel.setText(String.format("Очередь: %d, макс.: %d", metrics.getQueueDepth(),
+                metrics.getPeakQueueDepth()));
+        frameLabel.setText(String.format("Кадр: %.1f мс, среднее: %.1f мс", metrics.getLastFrameMillis(),
+                metrics.getAverageFrameMillis()));
+    }
+}
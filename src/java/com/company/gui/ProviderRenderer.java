@@ -0,0 +1,17 @@
+package com.company.gui;
+
+import com.company.engine.EngineProvider;
+
+import javax.swing.*;
+import java.awt.*;
+
+// Shows providers in combo boxes by their display name rather than their class.
+public class ProviderRenderer extends DefaultListCellRenderer {
+
+    @Override
+    public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                  boolean isSelected, boolean cellHasFocus) {
+        Object text = value instanceof EngineProvider ? ((EngineProvider) value).getName() : value;
+        return super.getListCellRendererComponent(list, text, index, isSelected, cellHasFocus);
+    }
+}
@@ -0,0 +1,88 @@
+package com.company.gui;
+
+import javax.swing.*;
+import javax.swing.border.TitledBorder;
+import java.awt.*;
+import java.util.function.Supplier;
+
+// Playback controls for the runs recorded on whichever maze is shown. refresh() brings the
+// slider in line with the maze; only moves made by the user seek, so the refresh never
+// pulls a finished run back into replay.
+public class ReplayPanel extends JPanel {
+
+    private final Supplier<MazeGridPanel> grid;
+    private final JSlider slider = new JSlider(0, 0, 0);
+    private final JButton replayButton = new JButton();
+    private final JButton exportButton = new JButton();
+    private boolean refreshing;
+
+    public ReplayPanel(Supplier<MazeGridPanel> grid, Runnable export) {
+        this.grid = grid;
+        setLayout(new GridBagLayout());
+        setBorder(BorderFactory.createTitledBorder(BorderFactory.createEtchedBorder(), "Запись",
+                TitledBorder.DEFAULT_JUSTIFICATION, TitledBorder.DEFAULT_POSITION, null, null));
+
+        slider.setEnabled(false);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        gbc.weightx = 1.0;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        gbc.insets = new Insets(0, 10, 0, 10);
+        add(slider, gbc);
+
+        replayButton.setText("Повтор");
+        replayButton.setEnabled(false);
+        gbc = new GridBagConstraints();
+        gbc.gridx = 0;
+        gbc.gridy = 1;
+        gbc.weightx = 1.0;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        gbc.insets = new Insets(0, 10, 0, 10);
+        add(replayButton, gbc);
+
+        exportButton.setText("Экспорт");
+        exportButton.setEnabled(false);
+        gbc = new GridBagConstraints();
+        gbc.gridx = 1;
+        gbc.gridy = 1;
+        gbc.weightx = 1.0;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        gbc.insets = new Insets(0, 10, 0, 10);
+        add(exportButton, gbc);
+
+        slider.addChangeListener(e -> {
+            if (!refreshing && slider.getValue() != grid.get().getReplayStep()) {
+                grid.get().seek(slider.getValue());
+            }
+        });
+        replayButton.addActionListener(e -> grid.get().replay(() -> {
+        }));
+        exportButton.addActionListener(e -> export.run());
+    }
+
+    JSlider getSlider() {
+        return slider;
+    }
+
+    // Follows the maze shown, including its playback position.
+    public void refresh() {
+        MazeGridPanel panel = grid.get();
+        boolean available = panel.canReplay();
+        slider.setEnabled(available);
+        replayButton.setEnabled(available);
+        exportButton.setEnabled(available);
+        refreshing = true;
+        try {
+            if (slider.getMaximum() != panel.getReplaySteps()) {
+                slider.setMaximum(panel.getReplaySteps());
+            }
+            if (!slider.getValueIsAdjusting() && slider.getValue() != panel.getReplayStep()) {
+                slider.setValue(panel.getReplayStep());
+            }
+        } finally {
+            refreshing = false;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.company.gui;
+
+import com.company.engine.EngineListener;
+import com.company.engine.MazeEngine;
+import com.company.metrics.EngineMetrics;
+import com.company.replay.StepLog;
+
+import javax.swing.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+// Runs an engine on a worker thread and shows its progress at the display frame rate.
+// At speed 0 the worker steps flat out and hands over the cells it touched once per time
+// slice; otherwise it sleeps speed milliseconds between steps. A Swing timer drains the
+// handed-over cells into the panel once per frame, so the EDT never runs the engine and
+// repaints at most FRAME_MILLIS apart however fast the engine steps.
+//
+// The grid is written by the worker while the EDT paints it. Cells handed over through
+// the lock are seen complete; a cell changing mid-frame may be drawn stale and is redrawn
+// with the next frame.
+public class StepAnimator implements EngineListener {
+
+    private static final int FRAME_MILLIS = 16;
+    private static final long SLICE_NANOS = 2_000_000L;
+    private static final int CLOCK_INTERVAL = 64;
+    private static final int DIRTY_LIMIT = 64;
+    private static final AtomicInteger THREADS = new AtomicInteger();
+    private static final ExecutorService WORKERS = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "maze-engine-" + THREADS.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final MazeEngine engine;
+    private final MazeGridPanel panel;
+    private final IntConsumer onStep;
+    private final Runnable onFinished;
+    private final Timer frames;
+    // Worker side: cells touched since the last hand-over.
+    private final DirtyCells touched = new DirtyCells(DIRTY_LIMIT);
+    private int touchedCurrent = -1;
+    // Shared, guarded by this.
+    private final DirtyCells pending = new DirtyCells(DIRTY_LIMIT);
+    private int pendingCurrent = -1;
+    private boolean finished;
+    private boolean stopped;
+    private RuntimeException failure;
+    private volatile boolean cancelled;
+    private StepLog log;
+    private Consumer<RuntimeException> onAbort = e -> {
+    };
+
+    public StepAnimator(MazeEngine engine, MazeGridPanel panel, Runnable onFinished) {
+        this(engine, panel, cell -> {
+        }, onFinished);
+    }
+
+    // onStep runs on the worker thread, right after the engine reports a cell.
+    public StepAnimator(MazeEngine engine, MazeGridPanel panel, IntConsumer onStep, Runnable onFinished) {
+        this.engine = engine;
+        this.panel = panel;
+        this.onStep = onStep;
+        this.onFinished = onFinished;
+        frames = new Timer(FRAME_MILLIS, e -> frame());
+        engine.setListener(this);
+    }
+
+    // Records the run into the log, which must already listen to the grid.
+    public void setLog(StepLog log) {
+        this.log = log;
+    }
+
+    // Runs on the EDT instead of onFinished once the worker has stopped early, with the
+    // exception the engine threw or null when the run was cancelled.
+    public void setOnAbort(Consumer<RuntimeException> onAbort) {
+        this.onAbort = onAbort;
+    }
+
+    public void start() {
+        panel.getSession().getMetrics().started(engine);
+        frames.start();
+        WORKERS.execute(this::work);
+    }
+
+    // The worker stops after its current step; onAbort follows on the next frame.
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private void work() {
+        EngineMetrics metrics = panel.getSession().getMetrics();
+        int cells = panel.getGrid().size();
+        if (log != null) {
+            log.claim();
+        }
+        try {
+            while (!cancelled && !engine.isFinished()) {
+                int speed = panel.getSession().getSpeed();
+                long allocated = EngineMetrics.allocatedBytes();
+                int steps = speed > 0 ? 1 : slice();
+                if (speed > 0) {
+                    engine.step();
+                }
+                metrics.stepped(engine, cells, steps, EngineMetrics.allocatedBytes() - allocated);
+                handOver();
+                if (speed > 0) {
+                    Thread.sleep(speed);
+                }
+            }
+        } catch (InterruptedException e) {
+            cancelled = true;
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                failure = e;
+            }
+        }
+        synchronized (this) {
+            stopped = cancelled && !finished;
+        }
+    }
+
+    // Steps until the slice runs out, reading the clock only every CLOCK_INTERVAL steps.
+    private int slice() {
+        long end = System.nanoTime() + SLICE_NANOS;
+        int steps = 0;
+        while (engine.step()) {
+            if (++steps % CLOCK_INTERVAL == 0 && System.nanoTime() >= end) {
+                break;
+            }
+        }
+        return steps;
+    }
+
+    private synchronized void handOver() {
+        pending.addAll(touched);
+        if (touchedCurrent != -1) {
+            pendingCurrent = touchedCurrent;
+        }
+        touched.clear();
+        touchedCurrent = -1;
+    }
+
+    // Runs on the EDT once per frame.
+    private void frame() {
+        boolean done;
+        boolean aborted;
+        RuntimeException error;
+        synchronized (this) {
+            if (pendingCurrent != -1) {
+                panel.setCurrent(pendingCurrent);
+            }
+            panel.markDirty(pending);
+            pending.clear();
+            pendingCurrent = -1;
+            error = failure;
+            done = finished && error == null;
+            aborted = error != null || stopped;
+        }
+        panel.repaintDirty();
+        if (aborted) {
+            frames.stop();
+            panel.setCurrent(-1);
+            panel.repaint();
+            onAbort.accept(error);
+        } else if (done) {
+            frames.stop();
+            panel.setCurrent(engine.getCurrent());
+            panel.repaint();
+            onFinished.run();
+        }
+    }
+
+    @Override
+    public void stepped(int cell) {
+        onStep.accept(cell);
+        if (log != null) {
+            log.stepped(cell);
+        }
+        touched.mark(cell);
+        touchedCurrent = cell;
+    }
+
+    @Override
+    public void finished() {
+        handOver();
+        synchronized (this) {
+            finished = true;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.company.gui;
+
+import java.awt.*;
+import java.io.Serializable;
+
+public class Viewport implements Serializable {
+
+    private static final double MAX_CELL_SIZE = 64;
+    private final int gridWidth;
+    private final int gridHeight;
+    private final int cellWidth;
+    private final int cellHeight;
+    private final int screenWidth;
+    private final int screenHeight;
+    private final double minScale;
+    private final double maxScale;
+    private double scale;
+    private double panX;
+    private double panY;
+
+    public Viewport(int gridWidth, int gridHeight, int cellWidth, int cellHeight, int screenWidth, int screenHeight) {
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+        minScale = Math.min(1, Math.min((double) screenWidth / worldWidth(), (double) screenHeight / worldHeight()));
+        maxScale = Math.max(minScale, MAX_CELL_SIZE / Math.min(cellWidth, cellHeight));
+        fit();
+    }
+
+    public void fit() {
+        scale = minScale;
+        panX = 0;
+        panY = 0;
+    }
+
+    public boolean zoom(double factor, int screenX, int screenY) {
+        double next = Math.max(minScale, Math.min(maxScale, scale * factor));
+        if (next == scale) {
+            return false;
+        }
+        panX = screenX - (screenX - panX) * next / scale;
+        panY = screenY - (screenY - panY) * next / scale;
+        scale = next;
+        clampPan();
+        return true;
+    }
+
+    public boolean pan(int dx, int dy) {
+        double oldX = panX, oldY = panY;
+        panX += dx;
+        panY += dy;
+        clampPan();
+        return panX != oldX || panY != oldY;
+    }
+
+    // Keeps the maze inside the screen when it fits and the screen inside the maze when it does not.
+    private void clampPan() {
+        double width = worldWidth() * scale;
+        double height = worldHeight() * scale;
+        panX = Math.max(Math.min(0, screenWidth - width), Math.min(Math.max(0, screenWidth - width), panX));
+        panY = Math.max(Math.min(0, screenHeight - height), Math.min(Math.max(0, screenHeight - height), panY));
+    }
+
+    public double getScale() {
+        return scale;
+    }
+
+    public double getCellSize() {
+        return Math.min(cellWidth, cellHeight) * scale;
+    }
+
+    public int worldWidth() {
+        return gridWidth * cellWidth;
+    }
+
+    public int worldHeight() {
+        return gridHeight * cellHeight;
+    }
+
+    public void apply(Graphics2D g) {
+        g.translate(panX, panY);
+        g.scale(scale, scale);
+    }
+
+    public double worldX(double screenX) {
+        return (screenX - panX) / scale;
+    }
+
+    public double worldY(double screenY) {
+        return (screenY - panY) / scale;
+    }
+
+    public int cellX(int screenX) {
+        return (int) Math.floor(worldX(screenX) / cellWidth);
+    }
+
+    public int cellY(int screenY) {
+        return (int) Math.floor(worldY(screenY) / cellHeight);
+    }
+
+    public Rectangle toScreen(Rectangle world) {
+        int x0 = (int) Math.floor(world.x * scale + panX);
+        int y0 = (int) Math.floor(world.y * scale + panY);
+        int x1 = (int) Math.ceil((world.x + world.width) * scale + panX);
+        int y1 = (int) Math.ceil((world.y + world.height) * scale + panY);
+        return new Rectangle(x0, y0, x1 - x0, y1 - y0);
+    }
+
+    // Adjacent cells share their edges exactly, so scaled cells tile without gaps.
+    public Rectangle cellBounds(int x, int y, Rectangle out) {
+        int x0 = (int) Math.floor(x * cellWidth * scale + panX);
+        int y0 = (int) Math.floor(y * cellHeight * scale + panY);
+        int x1 = (int) Math.floor((x + 1) * cellWidth * scale + panX);
+        int y1 = (int) Math.floor((y + 1) * cellHeight * scale + panY);
+        out.setBounds(x0, y0, x1 - x0, y1 - y0);
+        return out;
+    }
+
+    public Rectangle visibleCells(Rectangle screen, int margin) {
+        int x0 = Math.max(0, (int) Math.floor((worldX(screen.x) - margin) / cellWidth));
+        int y0 = Math.max(0, (int) Math.floor((worldY(screen.y) - margin) / cellHeight));
+        int x1 = Math.min(gridWidth - 1, (int) Math.floor((worldX(screen.x + screen.width) + margin) / cellWidth));
+        int y1 = Math.min(gridHeight - 1, (int) Math.floor((worldY(screen.y + screen.height) + margin) / cellHeight));
+        return new Rectangle(x0, y0, x1 - x0 + 1, y1 - y0 + 1);
+    }
+}
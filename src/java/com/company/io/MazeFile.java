@@ -0,0 +1,77 @@
+package com.company.io;
+
+import com.company.model.MazeGrid;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Layout (big-endian): magic "MAZE", version, width, height, start, goal as ints, followed by
+// one 4-bit wall mask per cell in index order, two per byte with the even cell in the low nibble.
+public class MazeFile {
+
+    public static final int MAGIC = 0x4D415A45;
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 24;
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private final MazeGrid grid;
+    private final int start;
+    private final int goal;
+
+    public MazeFile(MazeGrid grid, int start, int goal) {
+        this.grid = grid;
+        this.start = start;
+        this.goal = goal;
+    }
+
+    public MazeGrid getGrid() {
+        return grid;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getGoal() {
+        return goal;
+    }
+
+    public static long fileSize(int width, int height) {
+        return HEADER_SIZE + ((long) width * height + 1) / 2;
+    }
+
+    public void write(Path path) throws IOException {
+        int size = grid.size();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    fileSize(grid.getWidth(), grid.getHeight()));
+            buffer.putInt(MAGIC).putInt(VERSION)
+                    .putInt(grid.getWidth()).putInt(grid.getHeight())
+                    .putInt(start).putInt(goal);
+            byte[] chunk = new byte[CHUNK_SIZE];
+            int cell = 0;
+            while (cell < size) {
+                int length = 0;
+                while (length < chunk.length && cell < size) {
+                    int packed = grid.wallMask(cell++);
+                    if (cell < size) {
+                        packed |= grid.wallMask(cell++) << 4;
+                    }
+                    chunk[length++] = (byte) packed;
+                }
+                buffer.put(chunk, 0, length);
+            }
+            buffer.force();
+        }
+    }
+
+    public static MazeFile read(Path path) throws IOException {
+        try (MazeFileReader reader = new MazeFileReader(path)) {
+            return new MazeFile(reader.readAll(), reader.getStart(), reader.getGoal());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.company.io;
+
+import com.company.model.MazeGrid;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Reads a MazeFile either whole or as a rectangular window, mapping only the rows the
+// window covers, so mazes larger than the heap can be inspected piece by piece.
+public class MazeFileReader implements Closeable {
+
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final long MAP_LIMIT = 1L << 28;
+    // Maps a byte of two wall masks to the four right/bottom bits the grid stores for them.
+    private static final int[] DECODE = new int[256];
+
+    static {
+        for (int b = 0; b < DECODE.length; b++) {
+            DECODE[b] = ownWalls(b & 0xF) | ownWalls(b >>> 4) << 2;
+        }
+    }
+
+    private final FileChannel channel;
+    private final int width;
+    private final int height;
+    private final int start;
+    private final int goal;
+
+    public MazeFileReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(MazeFile.HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            }
+            header.flip();
+            if (header.remaining() < MazeFile.HEADER_SIZE || header.getInt() != MazeFile.MAGIC) {
+                throw new IOException(String.format("Not a maze file: %s", path));
+            }
+            int version = header.getInt();
+            if (version != MazeFile.VERSION) {
+                throw new IOException(String.format("Unsupported maze file version: %d", version));
+            }
+            width = header.getInt();
+            height = header.getInt();
+            start = header.getInt();
+            goal = header.getInt();
+            if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE) {
+                throw new IOException(String.format("Invalid maze size: %dx%d", width, height));
+            }
+            if (fileSize != MazeFile.fileSize(width, height)) {
+                throw new IOException(String.format("Maze file has %d bytes, expected %d",
+                        fileSize, MazeFile.fileSize(width, height)));
+            }
+            int size = width * height;
+            if (start < 0 || start >= size || goal < 0 || goal >= size) {
+                throw new IOException(String.format("Invalid start/goal: %d, %d", start, goal));
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getGoal() {
+        return goal;
+    }
+
+    public MazeGrid readAll() throws IOException {
+        MazeGrid grid = new MazeGrid(width, height);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, MazeFile.HEADER_SIZE,
+                channel.size() - MazeFile.HEADER_SIZE);
+        byte[] chunk = new byte[CHUNK_SIZE];
+        int word = 0;
+        int shift = 0;
+        long bits = 0;
+        while (buffer.hasRemaining()) {
+            int length = Math.min(chunk.length, buffer.remaining());
+            buffer.get(chunk, 0, length);
+            for (int i = 0; i < length; i++) {
+                bits |= (long) DECODE[chunk[i] & 0xFF] << shift;
+                shift += 4;
+                if (shift == 64) {
+                    grid.setWallWord(word++, bits);
+                    bits = 0;
+                    shift = 0;
+                }
+            }
+        }
+        if (shift != 0) {
+            grid.setWallWord(word, bits);
+        }
+        return grid;
+    }
+
+    public MazeGrid readWindow(int x0, int y0, int windowWidth, int windowHeight) throws IOException {
+        MazeGrid window = new MazeGrid(windowWidth, windowHeight);
+        readWindow(x0, y0, window);
+        return window;
+    }
+
+    // Fills the target with the cells whose top-left corner is (x0, y0). Walls leading out
+    // of the window keep their stored state, except that the grid always closes its own
+    // top and left borders. Cells are gathered into whole wall words, so the target sees
+    // one bulk change per 32 cells rather than one per cell.
+    public void readWindow(int x0, int y0, MazeGrid target) throws IOException {
+        int windowWidth = target.getWidth();
+        int windowHeight = target.getHeight();
+        if (x0 < 0 || y0 < 0 || x0 + windowWidth > width || y0 + windowHeight > height) {
+            throw new IllegalArgumentException(String.format("Window %dx%d at (%d, %d) is outside the %dx%d maze",
+                    windowWidth, windowHeight, x0, y0, width, height));
+        }
+        int rowsPerMap = (int) Math.max(1, Math.min(windowHeight, MAP_LIMIT * 2 / width));
+        long bits = 0;
+        for (int band = 0; band < windowHeight; band += rowsPerMap) {
+            int bandRows = Math.min(rowsPerMap, windowHeight - band);
+            long firstCell = (long) (y0 + band) * width + x0;
+            long lastCell = (long) (y0 + band + bandRows - 1) * width + x0 + windowWidth - 1;
+            long firstByte = firstCell >>> 1;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, MazeFile.HEADER_SIZE + firstByte,
+                    (lastCell >>> 1) - firstByte + 1);
+            for (int y = 0; y < bandRows; y++) {
+                long cell = (long) (y0 + band + y) * width + x0;
+                int targetCell = target.index(0, band + y);
+                for (int x = 0; x < windowWidth; x++, cell++, targetCell++) {
+                    int packed = buffer.get((int) ((cell >>> 1) - firstByte));
+                    int mask = (cell & 1) == 0 ? packed & 0xF : (packed >>> 4) & 0xF;
+                    bits |= (long) ownWalls(mask) << ((targetCell & 31) << 1);
+                    if ((targetCell & 31) == 31) {
+                        target.setWallWord(targetCell >>> 5, bits);
+                        bits = 0;
+                    }
+                }
+            }
+        }
+        if ((target.size() & 31) != 0) {
+            target.setWallWord(target.size() >>> 5, bits);
+        }
+    }
+
+    private static int ownWalls(int mask) {
+        return (mask >>> MazeGrid.RIGHT & 1) | (mask >>> MazeGrid.BOTTOM & 1) << 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
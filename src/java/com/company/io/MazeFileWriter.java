@@ -0,0 +1,82 @@
+package com.company.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+// Writes the MazeFile format one row at a time, so a maze never has to be held in memory.
+public class MazeFileWriter implements RowSink {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final int width;
+    private final int height;
+    private int rows;
+    private int buffered;
+    private int pending = -1;
+
+    public MazeFileWriter(OutputStream out, int width, int height, int start, int goal) throws IOException {
+        if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("Invalid maze size: %dx%d", width, height));
+        }
+        int size = width * height;
+        if (start < 0 || start >= size || goal < 0 || goal >= size) {
+            throw new IllegalArgumentException(String.format("Invalid start/goal: %d, %d", start, goal));
+        }
+        this.out = out;
+        this.width = width;
+        this.height = height;
+        ByteBuffer.wrap(buffer).putInt(MazeFile.MAGIC).putInt(MazeFile.VERSION)
+                .putInt(width).putInt(height)
+                .putInt(start).putInt(goal);
+        buffered = MazeFile.HEADER_SIZE;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    // Rows of odd width end in the middle of a byte; the dangling nibble is carried over.
+    @Override
+    public void writeRow(int[] masks) throws IOException {
+        if (masks.length != width) {
+            throw new IllegalArgumentException(String.format("Row has %d cells, expected %d", masks.length, width));
+        }
+        if (rows == height) {
+            throw new IllegalStateException(String.format("All %d rows already written", height));
+        }
+        for (int mask : masks) {
+            if (pending < 0) {
+                pending = mask & 0xF;
+            } else {
+                if (buffered == buffer.length) {
+                    out.write(buffer, 0, buffered);
+                    buffered = 0;
+                }
+                buffer[buffered++] = (byte) (pending | (mask & 0xF) << 4);
+                pending = -1;
+            }
+        }
+        rows++;
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (rows != height) {
+            throw new IllegalStateException(String.format("Written %d of %d rows", rows, height));
+        }
+        if (pending >= 0) {
+            if (buffered == buffer.length) {
+                out.write(buffer, 0, buffered);
+                buffered = 0;
+            }
+            buffer[buffered++] = (byte) pending;
+            pending = -1;
+        }
+        out.write(buffer, 0, buffered);
+        buffered = 0;
+        out.flush();
+    }
+}
@@ -0,0 +1,10 @@
+package com.company.io;
+
+import java.io.IOException;
+
+public interface RowSink {
+
+    void writeRow(int[] masks) throws IOException;
+
+    void finish() throws IOException;
+}
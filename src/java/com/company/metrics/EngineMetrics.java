@@ -0,0 +1,250 @@
+package com.company.metrics;
+
+import com.company.engine.MazeEngine;
+import com.company.generator.MazeGenerator;
+import com.company.solver.AbstractSolver;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters for the engine a maze session is animating and for the frames of its panel,
+// published as a com.company:type=EngineMetrics,session=N MBean per session and pushed to
+// registered listeners. Engine samples come from the session's worker thread, frame samples
+// from the EDT and resets from JMX, so the totals are adders and the peaks are raised
+// atomically; the remaining gauges are volatile and keep the latest sample. The carve rate
+// window is only touched by the worker.
+public class EngineMetrics implements EngineMetricsMBean {
+
+    public static final String OBJECT_NAME = "com.company:type=EngineMetrics";
+
+    private static final AtomicInteger SESSIONS = new AtomicInteger();
+    private static final com.sun.management.ThreadMXBean ALLOCATION = allocationBean();
+    // What reading the allocation counter allocates by itself, taken off every sample.
+    private static final long ALLOCATION_OVERHEAD = allocationOverhead();
+    private static final long RATE_WINDOW = 250_000_000L;
+    private static final double FRAME_SMOOTHING = 0.1;
+
+    private final String objectName = String.format("%s,session=%d", OBJECT_NAME, SESSIONS.incrementAndGet());
+    private final List<MetricsListener> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder steps = new LongAdder();
+    private final AtomicInteger peakFrontierSize = new AtomicInteger();
+    private final AtomicInteger peakQueueDepth = new AtomicInteger();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder frames = new LongAdder();
+    private volatile String engine = "";
+    private volatile long cellsCarved;
+    private volatile double cellsCarvedPerSecond;
+    private volatile int frontierSize;
+    private volatile long cellsExpanded;
+    private volatile int queueDepth;
+    private volatile double lastFrameMillis;
+    private volatile double averageFrameMillis;
+    private long rateStart;
+    private long rateCarved;
+
+    public String getObjectName() {
+        return objectName;
+    }
+
+    public void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(objectName));
+        } catch (JMException e) {
+            throw new IllegalStateException(String.format("Cannot register %s", objectName), e);
+        }
+    }
+
+    public void unregister() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(objectName));
+        } catch (JMException e) {
+            throw new IllegalStateException(String.format("Cannot unregister %s", objectName), e);
+        }
+    }
+
+    // Bytes allocated so far by the current thread, or -1 where the JVM cannot tell.
+    public static long allocatedBytes() {
+        return ALLOCATION != null ? ALLOCATION.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+            if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+                return hotspot;
+            }
+        }
+        return null;
+    }
+
+    private static long allocationOverhead() {
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 8; i++) {
+            long before = allocatedBytes();
+            overhead = Math.min(overhead, allocatedBytes() - before);
+        }
+        return Math.max(0, overhead);
+    }
+
+    public void addListener(MetricsListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(MetricsListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Starts a new series for the engine; the counters of the other kind of engine are kept,
+    // so the figures of the last generation stay visible while its maze is solved.
+    public void started(MazeEngine engine) {
+        this.engine = engine.getClass().getSimpleName();
+        steps.reset();
+        allocatedBytes.reset();
+        if (engine instanceof MazeGenerator) {
+            cellsCarved = 0;
+            cellsCarvedPerSecond = 0;
+            frontierSize = 0;
+            peakFrontierSize.set(0);
+            rateStart = System.nanoTime();
+            rateCarved = 0;
+        } else {
+            cellsExpanded = 0;
+            queueDepth = 0;
+            peakQueueDepth.set(0);
+        }
+        fire();
+    }
+
+    // Cells is the size of the grid the engine works on; count is the number of steps taken
+    // since the last sample and allocated the bytes they allocated, negative when unknown.
+    public void stepped(MazeEngine engine, int cells, int count, long allocated) {
+        steps.add(count);
+        if (allocated > ALLOCATION_OVERHEAD) {
+            allocatedBytes.add(allocated - ALLOCATION_OVERHEAD);
+        }
+        if (engine instanceof MazeGenerator) {
+            cellsCarved = Math.round(((MazeGenerator) engine).getProgress() * cells);
+            int frontier = engine.getPending();
+            frontierSize = frontier;
+            peakFrontierSize.accumulateAndGet(frontier, Math::max);
+            long now = System.nanoTime();
+            if (now - rateStart >= RATE_WINDOW || engine.isFinished()) {
+                cellsCarvedPerSecond = (cellsCarved - rateCarved) * 1e9 / Math.max(1, now - rateStart);
+                rateStart = now;
+                rateCarved = cellsCarved;
+            }
+        } else if (engine instanceof AbstractSolver) {
+            cellsExpanded = ((AbstractSolver) engine).getExpanded();
+            int depth = engine.getPending();
+            queueDepth = depth;
+            peakQueueDepth.accumulateAndGet(depth, Math::max);
+        }
+        fire();
+    }
+
+    public void frameRendered(long nanos) {
+        double millis = nanos / 1e6;
+        lastFrameMillis = millis;
+        averageFrameMillis = frames.sum() == 0 ? millis
+                : averageFrameMillis + FRAME_SMOOTHING * (millis - averageFrameMillis);
+        frames.increment();
+        fire();
+    }
+
+    private void fire() {
+        for (MetricsListener listener : listeners) {
+            listener.updated(this);
+        }
+    }
+
+    @Override
+    public String getEngine() {
+        return engine;
+    }
+
+    @Override
+    public long getSteps() {
+        return steps.sum();
+    }
+
+    @Override
+    public long getCellsCarved() {
+        return cellsCarved;
+    }
+
+    @Override
+    public double getCellsCarvedPerSecond() {
+        return cellsCarvedPerSecond;
+    }
+
+    @Override
+    public int getFrontierSize() {
+        return frontierSize;
+    }
+
+    @Override
+    public int getPeakFrontierSize() {
+        return peakFrontierSize.get();
+    }
+
+    @Override
+    public long getCellsExpanded() {
+        return cellsExpanded;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    @Override
+    public int getPeakQueueDepth() {
+        return peakQueueDepth.get();
+    }
+
+    @Override
+    public double getBytesPerStep() {
+        long count = steps.sum();
+        return count == 0 ? 0 : (double) allocatedBytes.sum() / count;
+    }
+
+    @Override
+    public long getFrames() {
+        return frames.sum();
+    }
+
+    @Override
+    public double getLastFrameMillis() {
+        return lastFrameMillis;
+    }
+
+    @Override
+    public double getAverageFrameMillis() {
+        return averageFrameMillis;
+    }
+
+    @Override
+    public void reset() {
+        engine = "";
+        steps.reset();
+        cellsCarved = 0;
+        cellsCarvedPerSecond = 0;
+        frontierSize = 0;
+        peakFrontierSize.set(0);
+        cellsExpanded = 0;
+        queueDepth = 0;
+        peakQueueDepth.set(0);
+        allocatedBytes.reset();
+        frames.reset();
+        lastFrameMillis = 0;
+        averageFrameMillis = 0;
+        fire();
+    }
+}
@@ -0,0 +1,32 @@
+package com.company.metrics;
+
+public interface EngineMetricsMBean {
+
+    String getEngine();
+
+    long getSteps();
+
+    long getCellsCarved();
+
+    double getCellsCarvedPerSecond();
+
+    int getFrontierSize();
+
+    int getPeakFrontierSize();
+
+    long getCellsExpanded();
+
+    int getQueueDepth();
+
+    int getPeakQueueDepth();
+
+    double getBytesPerStep();
+
+    long getFrames();
+
+    double getLastFrameMillis();
+
+    double getAverageFrameMillis();
+
+    void reset();
+}
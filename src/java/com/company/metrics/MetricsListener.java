@@ -0,0 +1,7 @@
+package com.company.metrics;
+
+// Called on the thread that produced the sample, once per engine step and per frame.
+public interface MetricsListener {
+
+    void updated(EngineMetrics metrics);
+}
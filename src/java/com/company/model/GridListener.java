@@ -0,0 +1,20 @@
+package com.company.model;
+
+// Told about every change made to a grid. Walls are reported as the RIGHT or BOTTOM wall
+// of the cell that owns them; bulk changes such as loading a whole wall array only report
+// that the grid changed wholesale.
+public interface GridListener {
+
+    GridListener NONE = new GridListener() {
+    };
+
+    default void wallRemoved(int cell, int side) {
+    }
+
+    // Flags is a mask of MazeGrid.VISITED, DEAD_END and PATH, all set to value.
+    default void flagsChanged(int cell, int flags, boolean value) {
+    }
+
+    default void bulkChanged() {
+    }
+}
@@ -0,0 +1,317 @@
+package com.company.model;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.BitSet;
+
+public class MazeGrid implements Serializable {
+
+    public static final int TOP = 0;
+    public static final int RIGHT = 1;
+    public static final int BOTTOM = 2;
+    public static final int LEFT = 3;
+
+    // Cell flags as reported to a GridListener.
+    public static final int VISITED = 1;
+    public static final int DEAD_END = 2;
+    public static final int PATH = 4;
+
+    // Each cell owns only its right and bottom walls, packed as 2 bits: the top and left
+    // walls are the bottom/right walls of the neighbours above and to the left.
+    private static final int RIGHT_BIT = 1;
+    private static final int BOTTOM_BIT = 2;
+
+    private final int width;
+    private final int height;
+    private final long[] walls;
+    private final BitSet visited;
+    private final BitSet deadEnd;
+    private final BitSet path;
+    private transient GridListener listener = GridListener.NONE;
+    // Bumped on every wall change, so anything derived from the walls can tell it is stale.
+    private long wallVersion;
+
+    public MazeGrid(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid grid size: %dx%d", width, height));
+        }
+        if ((long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("Grid too large: %dx%d", width, height));
+        }
+        this.width = width;
+        this.height = height;
+        int size = width * height;
+        walls = new long[(int) (((long) size * 2 + 63) >>> 6)];
+        Arrays.fill(walls, -1L);
+        visited = new BitSet(size);
+        deadEnd = new BitSet(size);
+        path = new BitSet(size);
+    }
+
+    public MazeGrid(MazeGrid other) {
+        width = other.width;
+        height = other.height;
+        walls = other.walls.clone();
+        visited = (BitSet) other.visited.clone();
+        deadEnd = (BitSet) other.deadEnd.clone();
+        path = (BitSet) other.path.clone();
+    }
+
+    // Overwrites this grid with another one of the same size.
+    public void copyFrom(MazeGrid other) {
+        if (other.width != width || other.height != height) {
+            throw new IllegalArgumentException(String.format("Grid size mismatch: %dx%d, expected %dx%d",
+                    other.width, other.height, width, height));
+        }
+        System.arraycopy(other.walls, 0, walls, 0, walls.length);
+        wallVersion++;
+        copyBits(other.visited, visited);
+        copyBits(other.deadEnd, deadEnd);
+        copyBits(other.path, path);
+        listener.bulkChanged();
+    }
+
+    private static void copyBits(BitSet from, BitSet to) {
+        to.clear();
+        to.or(from);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        listener = GridListener.NONE;
+    }
+
+    public long getWallVersion() {
+        return wallVersion;
+    }
+
+    public void setListener(GridListener listener) {
+        this.listener = listener != null ? listener : GridListener.NONE;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int size() {
+        return width * height;
+    }
+
+    public int index(int x, int y) {
+        return y * width + x;
+    }
+
+    public int x(int cell) {
+        return cell % width;
+    }
+
+    public int y(int cell) {
+        return cell / width;
+    }
+
+    public boolean contains(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    public int neighbour(int cell, int side) {
+        switch (side) {
+            case TOP:
+                return cell < width ? -1 : cell - width;
+            case RIGHT:
+                return x(cell) == width - 1 ? -1 : cell + 1;
+            case BOTTOM:
+                return cell >= size() - width ? -1 : cell + width;
+            case LEFT:
+                return x(cell) == 0 ? -1 : cell - 1;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown side: %d", side));
+        }
+    }
+
+    public boolean hasWall(int cell, int side) {
+        switch (side) {
+            case TOP:
+                return cell < width || wallBit(cell - width, BOTTOM_BIT);
+            case RIGHT:
+                return wallBit(cell, RIGHT_BIT);
+            case BOTTOM:
+                return wallBit(cell, BOTTOM_BIT);
+            case LEFT:
+                return x(cell) == 0 || wallBit(cell - 1, RIGHT_BIT);
+            default:
+                throw new IllegalArgumentException(String.format("Unknown side: %d", side));
+        }
+    }
+
+    public void removeWalls(int cell, int next) {
+        int x = x(cell) - x(next);
+
+        if (x == 1) {
+            clearWallBit(next, RIGHT_BIT);
+        } else if (x == -1) {
+            clearWallBit(cell, RIGHT_BIT);
+        }
+
+        int y = y(cell) - y(next);
+
+        if (y == 1) {
+            clearWallBit(next, BOTTOM_BIT);
+        } else if (y == -1) {
+            clearWallBit(cell, BOTTOM_BIT);
+        }
+    }
+
+    public void removeWall(int cell, int side) {
+        switch (side) {
+            case TOP:
+                clearWallBit(cell - width, BOTTOM_BIT);
+                break;
+            case RIGHT:
+                clearWallBit(cell, RIGHT_BIT);
+                break;
+            case BOTTOM:
+                clearWallBit(cell, BOTTOM_BIT);
+                break;
+            case LEFT:
+                clearWallBit(cell - 1, RIGHT_BIT);
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown side: %d", side));
+        }
+    }
+
+    // Wall mask with bit (1 << side) set for every wall around the cell.
+    public int wallMask(int cell) {
+        int mask = 0;
+        if (cell < width || wallBit(cell - width, BOTTOM_BIT)) {
+            mask |= 1 << TOP;
+        }
+        if (wallBit(cell, RIGHT_BIT)) {
+            mask |= 1 << RIGHT;
+        }
+        if (wallBit(cell, BOTTOM_BIT)) {
+            mask |= 1 << BOTTOM;
+        }
+        if (cell % width == 0 || wallBit(cell - 1, RIGHT_BIT)) {
+            mask |= 1 << LEFT;
+        }
+        return mask;
+    }
+
+    // Only the right and bottom bits are stored; the top and left walls follow from the
+    // masks of the neighbours above and to the left.
+    public void setWallMask(int cell, int mask) {
+        int shift = (cell & 31) << 1;
+        long bits = (mask >>> RIGHT & 1) * RIGHT_BIT | (mask >>> BOTTOM & 1) * BOTTOM_BIT;
+        walls[cell >>> 5] = walls[cell >>> 5] & ~(3L << shift) | bits << shift;
+        wallVersion++;
+        listener.bulkChanged();
+    }
+
+    // Raw access for bulk I/O: word i holds cells 32*i .. 32*i+31, two bits per cell,
+    // bit 0 for the right wall and bit 1 for the bottom wall.
+    public int wallWords() {
+        return walls.length;
+    }
+
+    public long getWallWord(int word) {
+        return walls[word];
+    }
+
+    public void setWallWord(int word, long bits) {
+        walls[word] = bits;
+        wallVersion++;
+        listener.bulkChanged();
+    }
+
+    // The walls a cell owns, without the edge checks hasWall makes for the other two sides.
+    public boolean hasRightWall(int cell) {
+        return wallBit(cell, RIGHT_BIT);
+    }
+
+    public boolean hasBottomWall(int cell) {
+        return wallBit(cell, BOTTOM_BIT);
+    }
+
+    private boolean wallBit(int cell, int bit) {
+        return (walls[cell >>> 5] & ((long) bit << ((cell & 31) << 1))) != 0;
+    }
+
+    private void clearWallBit(int cell, int bit) {
+        long mask = (long) bit << ((cell & 31) << 1);
+        long word = walls[cell >>> 5];
+        if ((word & mask) != 0) {
+            walls[cell >>> 5] = word & ~mask;
+            wallVersion++;
+            listener.wallRemoved(cell, bit == RIGHT_BIT ? RIGHT : BOTTOM);
+        }
+    }
+
+    public boolean isVisited(int cell) {
+        return visited.get(cell);
+    }
+
+    public void setVisited(int cell, boolean value) {
+        visited.set(cell, value);
+        listener.flagsChanged(cell, VISITED, value);
+    }
+
+    public void setAllVisited(boolean value) {
+        visited.set(0, size(), value);
+        listener.bulkChanged();
+    }
+
+    public boolean isDeadEnd(int cell) {
+        return deadEnd.get(cell);
+    }
+
+    public void setDeadEnd(int cell, boolean value) {
+        deadEnd.set(cell, value);
+        listener.flagsChanged(cell, DEAD_END, value);
+    }
+
+    public boolean isPath(int cell) {
+        return path.get(cell);
+    }
+
+    public void setPath(int cell, boolean value) {
+        path.set(cell, value);
+        listener.flagsChanged(cell, PATH, value);
+    }
+
+    // First path cell at or after the given one, or -1, for walking the path without
+    // testing every cell.
+    public int nextPath(int cell) {
+        return path.nextSetBit(cell);
+    }
+
+    // Puts every wall back and clears every flag, as for a freshly created grid.
+    public void clear() {
+        Arrays.fill(walls, -1L);
+        visited.clear();
+        deadEnd.clear();
+        path.clear();
+        wallVersion++;
+        listener.bulkChanged();
+    }
+
+    // Clears the dead-end and path flags a solver left behind; walls and visited cells stay.
+    public void clearSolution() {
+        deadEnd.clear();
+        path.clear();
+        listener.bulkChanged();
+    }
+
+    public void resetCell(int cell) {
+        visited.clear(cell);
+        deadEnd.clear(cell);
+        path.clear(cell);
+        listener.flagsChanged(cell, VISITED | DEAD_END | PATH, false);
+    }
+}
@@ -0,0 +1,47 @@
+package com.company.model;
+
+public final class Neighbours {
+
+    public static final int MAX = 4;
+
+    private Neighbours() {
+    }
+
+    public static int all(MazeGrid grid, int cell, int[] out) {
+        int width = grid.getWidth();
+        int x = cell % width;
+        int count = 0;
+        if (cell >= width) out[count++] = cell - width;
+        if (x < width - 1) out[count++] = cell + 1;
+        if (cell < grid.size() - width) out[count++] = cell + width;
+        if (x > 0) out[count++] = cell - 1;
+        return count;
+    }
+
+    public static int visited(MazeGrid grid, int cell, int[] out) {
+        return filterVisited(grid, out, all(grid, cell, out), true);
+    }
+
+    public static int unvisited(MazeGrid grid, int cell, int[] out) {
+        return filterVisited(grid, out, all(grid, cell, out), false);
+    }
+
+    public static int open(MazeGrid grid, int cell, int[] out) {
+        int width = grid.getWidth();
+        int x = cell % width;
+        int count = 0;
+        if (cell >= width && !grid.hasBottomWall(cell - width)) out[count++] = cell - width;
+        if (x < width - 1 && !grid.hasRightWall(cell)) out[count++] = cell + 1;
+        if (cell < grid.size() - width && !grid.hasBottomWall(cell)) out[count++] = cell + width;
+        if (x > 0 && !grid.hasRightWall(cell - 1)) out[count++] = cell - 1;
+        return count;
+    }
+
+    private static int filterVisited(MazeGrid grid, int[] out, int count, boolean visited) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (grid.isVisited(out[i]) == visited) out[kept++] = out[i];
+        }
+        return kept;
+    }
+}
@@ -0,0 +1,317 @@
+package com.company.replay;
+
+import com.company.model.GridListener;
+import com.company.model.MazeGrid;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.company.model.MazeGrid.RIGHT;
+
+// Records every change an engine makes to a grid so the run can be played back, sought
+// and exported. Each record is one varint holding an op in the low 3 bits above which sits
+// the zigzag-encoded distance from the cell of the previous record, so neighbouring
+// changes cost a byte or two. A step record closes each engine step and names its current
+// cell.
+//
+// A copy of the grid is kept at the start and again whenever the log has grown by
+// SNAPSHOT_RATIO grid sizes since the last copy, which bounds both the memory spent on
+// copies and the bytes decoded by a seek. Changes that cannot be recorded one by one, such
+// as a wall array loaded in bulk or changes made by threads other than the recording one,
+// are recorded as a copy of the whole grid taken at the end of the step.
+public class StepLog implements GridListener {
+
+    public static final int MAGIC = 0x4D5A4C47;
+    public static final int VERSION = 1;
+
+    static final int STEP = 0;
+    static final int RIGHT_WALL = 1;
+    static final int BOTTOM_WALL = 2;
+    static final int VISITED = 3;
+    static final int DEAD_END = 4;
+    static final int PATH = 5;
+    static final int CLEAR = 6;
+    static final int SNAPSHOT = 7;
+    static final int OP_BITS = 3;
+    static final int OP_MASK = (1 << OP_BITS) - 1;
+
+    private static final int SNAPSHOT_RATIO = 4;
+    private static final int MAX_LENGTH = 1 << 28;
+    private static final int INITIAL_CAPACITY = 1 << 12;
+
+    private final MazeGrid grid;
+    private final long snapshotBytes;
+    private final List<MazeGrid> snapshots = new ArrayList<>();
+    private int[] snapshotSteps = new int[8];
+    private int[] snapshotOffsets = new int[8];
+    private int[] snapshotCells = new int[8];
+    private int[] snapshotCurrents = new int[8];
+    private byte[] data = new byte[INITIAL_CAPACITY];
+    private int length;
+    private int steps;
+    private int lastCell;
+    private int current = -1;
+    private int stepStart;
+    private volatile Thread owner;
+    private volatile boolean foreign;
+    private boolean truncated;
+    private volatile boolean closed;
+    private volatile boolean stale;
+
+    public StepLog(MazeGrid grid) {
+        this.grid = grid;
+        snapshotBytes = (long) grid.wallWords() * Long.BYTES + 3L * ((grid.size() + 7) / 8);
+        snapshot();
+    }
+
+    public MazeGrid getGrid() {
+        return grid;
+    }
+
+    public int getSteps() {
+        return steps;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public int getSnapshotCount() {
+        return snapshots.size();
+    }
+
+    // Set once the log outgrew MAX_LENGTH; nothing is recorded after that and the log can
+    // no longer reproduce the grid.
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    // Set when the grid changed while the log was closed, so the log no longer ends at
+    // the state the grid is in.
+    public boolean isStale() {
+        return stale;
+    }
+
+    // Makes the calling thread the recording one. Changes reported by any other thread
+    // turn the step they happen in into a grid copy.
+    public void claim() {
+        owner = Thread.currentThread();
+    }
+
+    // Closes the current step.
+    public void stepped(int cell) {
+        if (truncated) {
+            return;
+        }
+        boolean copy = foreign;
+        if (copy) {
+            foreign = false;
+            record(SNAPSHOT, snapshots.size());
+        }
+        append(STEP, cell);
+        current = cell;
+        steps++;
+        stepStart = length;
+        if (copy || length - snapshotOffsets[snapshots.size() - 1] >= snapshotBytes * SNAPSHOT_RATIO) {
+            snapshot();
+        }
+    }
+
+    // Closes whatever was changed after the last step as one more step.
+    public void finish() {
+        if (length > stepStart || foreign) {
+            stepped(current);
+        }
+    }
+
+    // Stops recording between runs; the log keeps listening only to notice that it went stale.
+    public void close() {
+        finish();
+        closed = true;
+    }
+
+    // Reopens a closed log for the next run on the same grid, unless it can no longer be
+    // continued.
+    public boolean resume() {
+        if (stale || truncated) {
+            return false;
+        }
+        closed = false;
+        return true;
+    }
+
+    @Override
+    public void wallRemoved(int cell, int side) {
+        if (recording()) {
+            append(side == RIGHT ? RIGHT_WALL : BOTTOM_WALL, cell);
+        }
+    }
+
+    @Override
+    public void flagsChanged(int cell, int flags, boolean value) {
+        if (!recording()) {
+            return;
+        }
+        if (!value) {
+            append(CLEAR, cell);
+            write(flags);
+        } else if (flags == MazeGrid.VISITED) {
+            append(VISITED, cell);
+        } else if (flags == MazeGrid.DEAD_END) {
+            append(DEAD_END, cell);
+        } else if (flags == MazeGrid.PATH) {
+            append(PATH, cell);
+        } else {
+            foreign = true;
+        }
+    }
+
+    @Override
+    public void bulkChanged() {
+        if (closed) {
+            stale = true;
+        }
+        foreign = true;
+    }
+
+    private boolean recording() {
+        if (closed) {
+            stale = true;
+            return false;
+        }
+        if (Thread.currentThread() != owner) {
+            foreign = true;
+            return false;
+        }
+        return !truncated;
+    }
+
+    private void append(int op, int cell) {
+        long delta = (long) cell - lastCell;
+        lastCell = cell;
+        write((delta << 1 ^ delta >> 63) << OP_BITS | op);
+    }
+
+    // Records carrying a value instead of a cell leave the delta base alone.
+    private void record(int op, int value) {
+        write((long) value << OP_BITS | op);
+    }
+
+    private void write(long value) {
+        if (length + 10 > data.length) {
+            if (data.length >= MAX_LENGTH) {
+                truncated = true;
+                return;
+            }
+            data = Arrays.copyOf(data, Math.min(MAX_LENGTH, data.length * 2));
+        }
+        while ((value & ~0x7FL) != 0) {
+            data[length++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    private void snapshot() {
+        int index = snapshots.size();
+        if (index == snapshotSteps.length) {
+            snapshotSteps = Arrays.copyOf(snapshotSteps, index * 2);
+            snapshotOffsets = Arrays.copyOf(snapshotOffsets, index * 2);
+            snapshotCells = Arrays.copyOf(snapshotCells, index * 2);
+            snapshotCurrents = Arrays.copyOf(snapshotCurrents, index * 2);
+        }
+        snapshots.add(new MazeGrid(grid));
+        snapshotSteps[index] = steps;
+        snapshotOffsets[index] = length;
+        snapshotCells[index] = lastCell;
+        snapshotCurrents[index] = current;
+    }
+
+    // Last snapshot taken at or before the step.
+    int snapshotBefore(int step) {
+        int index = Arrays.binarySearch(snapshotSteps, 0, snapshots.size(), step);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    MazeGrid snapshot(int index) {
+        return snapshots.get(index);
+    }
+
+    int snapshotStep(int index) {
+        return snapshotSteps[index];
+    }
+
+    int snapshotOffset(int index) {
+        return snapshotOffsets[index];
+    }
+
+    int snapshotCell(int index) {
+        return snapshotCells[index];
+    }
+
+    int snapshotCurrent(int index) {
+        return snapshotCurrents[index];
+    }
+
+    byte[] data() {
+        return data;
+    }
+
+    // Layout (big-endian): magic "MZLG", version, width, height, steps, snapshot count and
+    // data length as ints; then for every snapshot its step, data offset, delta base cell
+    // and current cell as ints, its packed wall words as longs and its visited, dead-end
+    // and path bitmaps, one bit per cell; then the records.
+    public void write(Path path) throws IOException {
+        try (OutputStream file = Files.newOutputStream(path)) {
+            write(file);
+        }
+    }
+
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(grid.getWidth());
+        out.writeInt(grid.getHeight());
+        out.writeInt(steps);
+        out.writeInt(snapshots.size());
+        out.writeInt(length);
+        for (int i = 0; i < snapshots.size(); i++) {
+            out.writeInt(snapshotSteps[i]);
+            out.writeInt(snapshotOffsets[i]);
+            out.writeInt(snapshotCells[i]);
+            out.writeInt(snapshotCurrents[i]);
+            MazeGrid copy = snapshots.get(i);
+            for (int word = 0; word < copy.wallWords(); word++) {
+                out.writeLong(copy.getWallWord(word));
+            }
+            writeBits(out, copy, MazeGrid.VISITED);
+            writeBits(out, copy, MazeGrid.DEAD_END);
+            writeBits(out, copy, MazeGrid.PATH);
+        }
+        out.write(data, 0, length);
+        out.flush();
+    }
+
+    private static void writeBits(DataOutputStream out, MazeGrid copy, int flag) throws IOException {
+        int bits = 0;
+        for (int cell = 0; cell < copy.size(); cell++) {
+            boolean set = flag == MazeGrid.VISITED ? copy.isVisited(cell)
+                    : flag == MazeGrid.DEAD_END ? copy.isDeadEnd(cell) : copy.isPath(cell);
+            if (set) {
+                bits |= 1 << (cell & 7);
+            }
+            if ((cell & 7) == 7 || cell == copy.size() - 1) {
+                out.write(bits);
+                bits = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.company.replay;
+
+import com.company.engine.EngineListener;
+import com.company.engine.MazeEngine;
+import com.company.model.MazeGrid;
+
+import static com.company.model.MazeGrid.BOTTOM;
+import static com.company.model.MazeGrid.RIGHT;
+
+// Plays a StepLog back onto its grid one recorded step at a time. As an engine it can be
+// animated like any generator or solver; seek jumps to any step through the nearest
+// snapshot before it.
+public class StepPlayer implements MazeEngine {
+
+    private final StepLog log;
+    private final MazeGrid grid;
+    private EngineListener listener = EngineListener.NONE;
+    private int offset;
+    private int step;
+    private int lastCell;
+    private int current = -1;
+
+    public StepPlayer(StepLog log) {
+        this.log = log;
+        this.grid = log.getGrid();
+        offset = log.getLength();
+        step = log.getSteps();
+    }
+
+    public int getStep() {
+        return step;
+    }
+
+    public int getSteps() {
+        return log.getSteps();
+    }
+
+    public void seek(int target) {
+        if (target < 0 || target > log.getSteps()) {
+            throw new IllegalArgumentException(String.format("Step out of range: %d of %d", target, log.getSteps()));
+        }
+        if (target < step || target > step && log.snapshotStep(log.snapshotBefore(target)) > step) {
+            int index = log.snapshotBefore(target);
+            grid.copyFrom(log.snapshot(index));
+            step = log.snapshotStep(index);
+            offset = log.snapshotOffset(index);
+            lastCell = log.snapshotCell(index);
+            current = log.snapshotCurrent(index);
+        }
+        while (step < target) {
+            apply();
+        }
+    }
+
+    @Override
+    public boolean step() {
+        if (step == log.getSteps()) {
+            listener.finished();
+            return false;
+        }
+        apply();
+        listener.stepped(current);
+        return true;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return step == log.getSteps();
+    }
+
+    @Override
+    public int getCurrent() {
+        return current;
+    }
+
+    @Override
+    public void setListener(EngineListener listener) {
+        this.listener = listener;
+    }
+
+    // Applies the records of one step.
+    private void apply() {
+        byte[] data = log.data();
+        while (true) {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            int op = (int) value & StepLog.OP_MASK;
+            long argument = value >>> StepLog.OP_BITS;
+            if (op == StepLog.SNAPSHOT) {
+                grid.copyFrom(log.snapshot((int) argument));
+                continue;
+            }
+            lastCell += (int) (argument >>> 1 ^ -(argument & 1));
+            switch (op) {
+                case StepLog.STEP:
+                    current = lastCell;
+                    step++;
+                    return;
+                case StepLog.RIGHT_WALL:
+                    grid.removeWall(lastCell, RIGHT);
+                    break;
+                case StepLog.BOTTOM_WALL:
+                    grid.removeWall(lastCell, BOTTOM);
+                    break;
+                case StepLog.VISITED:
+                    grid.setVisited(lastCell, true);
+                    break;
+                case StepLog.DEAD_END:
+                    grid.setDeadEnd(lastCell, true);
+                    break;
+                case StepLog.PATH:
+                    grid.setPath(lastCell, true);
+                    break;
+                default:
+                    clear(lastCell, readFlags(data));
+                    break;
+            }
+        }
+    }
+
+    private int readFlags(byte[] data) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[offset++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private void clear(int cell, int flags) {
+        if ((flags & MazeGrid.VISITED) != 0) {
+            grid.setVisited(cell, false);
+        }
+        if ((flags & MazeGrid.DEAD_END) != 0) {
+            grid.setDeadEnd(cell, false);
+        }
+        if ((flags & MazeGrid.PATH) != 0) {
+            grid.setPath(cell, false);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.company.solver;
+
+import com.company.model.MazeGrid;
+import com.company.model.Neighbours;
+
+import java.util.Arrays;
+
+public class AStarSolver extends AbstractSolver {
+
+    private final IntMinHeap open;
+    private final int[] distance;
+    private int goalX;
+    private int goalY;
+
+    public AStarSolver(MazeGrid grid) {
+        super(grid);
+        open = new IntMinHeap(grid.size());
+        distance = new int[grid.size()];
+    }
+
+    public AStarSolver(MazeGrid grid, int start, int goal) {
+        this(grid);
+        reset(start, goal);
+    }
+
+    protected int priority(int distance, int heuristic) {
+        return distance + heuristic;
+    }
+
+    @Override
+    protected void init() {
+        open.clear();
+        Arrays.fill(distance, -1);
+        goalX = grid.x(goal);
+        goalY = grid.y(goal);
+        distance[start] = 0;
+        open.push(start, priority(0, manhattan(start)));
+    }
+
+    @Override
+    protected boolean expand() {
+        if (open.isEmpty()) {
+            return false;
+        }
+        current = open.pop();
+        if (current == goal) {
+            found = true;
+            return true;
+        }
+        int next = distance[current] + 1;
+        int count = Neighbours.open(grid, current, neighbours);
+        for (int i = 0; i < count; i++) {
+            int c = neighbours[i];
+            if (distance[c] == -1 || next < distance[c]) {
+                distance[c] = next;
+                parent[c] = current;
+                open.push(c, priority(next, manhattan(c)));
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int getPending() {
+        return open.size();
+    }
+
+    public int getDistance(int cell) {
+        return distance[cell];
+    }
+
+    private int manhattan(int cell) {
+        return Math.abs(grid.x(cell) - goalX) + Math.abs(grid.y(cell) - goalY);
+    }
+
+    public static class Provider extends BuiltInSolverProvider {
+
+        public Provider() {
+            super(SolvingAlgorithm.A_STAR);
+        }
+
+        @Override
+        public AbstractSolver create(MazeGrid grid) {
+            return new AStarSolver(grid);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.company.solver;
+
+import com.company.engine.EngineListener;
+import com.company.engine.MazeEngine;
+import com.company.model.MazeGrid;
+import com.company.model.Neighbours;
+
+public abstract class AbstractSolver implements MazeEngine {
+
+    protected final MazeGrid grid;
+    protected final int[] parent;
+    protected final int[] neighbours = new int[Neighbours.MAX];
+    protected int start;
+    protected int goal;
+    protected int current;
+    protected boolean found;
+    private EngineListener listener = EngineListener.NONE;
+    private boolean finished;
+    private int expanded;
+    private long elapsedNanos;
+
+    protected AbstractSolver(MazeGrid grid) {
+        this.grid = grid;
+        parent = new int[grid.size()];
+    }
+
+    public void reset(int start, int goal) {
+        this.start = start;
+        this.goal = goal;
+        current = start;
+        found = false;
+        finished = false;
+        expanded = 0;
+        elapsedNanos = 0;
+        parent[start] = -1;
+        init();
+    }
+
+    protected abstract void init();
+
+    protected abstract boolean expand();
+
+    public int solve() {
+        run();
+        return found ? countPath() - 1 : -1;
+    }
+
+    @Override
+    public boolean step() {
+        if (finished) {
+            return false;
+        }
+        // Only the time spent expanding counts, so an animated solve reports the same figure
+        // as a direct one instead of the delays between its steps.
+        long startedAt = System.nanoTime();
+        boolean more = !found && expand();
+        elapsedNanos += System.nanoTime() - startedAt;
+        if (!more) {
+            finished = true;
+            listener.finished();
+            return false;
+        }
+        reportStep();
+        return true;
+    }
+
+    protected void reportStep() {
+        report(current);
+    }
+
+    protected final void report(int cell) {
+        expanded++;
+        listener.stepped(cell);
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public int getCurrent() {
+        return current;
+    }
+
+    @Override
+    public void setListener(EngineListener listener) {
+        this.listener = listener;
+    }
+
+    public boolean isFound() {
+        return found;
+    }
+
+    public int getExpanded() {
+        return expanded;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public int getParent(int cell) {
+        return parent[cell];
+    }
+
+    public int getPath(int[] out) {
+        if (!found) {
+            return 0;
+        }
+        int length = countPath();
+        for (int i = length - 1, cell = goal; i >= 0; i--, cell = parent[cell]) {
+            out[i] = cell;
+        }
+        return length;
+    }
+
+    public void markPath() {
+        if (!found) {
+            return;
+        }
+        for (int cell = goal; cell != start; cell = parent[cell]) {
+            grid.setPath(cell, true);
+        }
+    }
+
+    private int countPath() {
+        int length = 1;
+        for (int cell = goal; cell != start; cell = parent[cell]) {
+            length++;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,140 @@
+package com.company.solver;
+
+import com.company.model.MazeGrid;
+import com.company.model.Neighbours;
+
+import java.util.Arrays;
+
+public class BidirectionalLeeSolver extends AbstractSolver {
+
+    private static final byte NONE = 0;
+    private static final byte FORWARD = 1;
+    private static final byte BACKWARD = 2;
+
+    // Every cell is queued at most once by either wave, so the forward wave grows from
+    // the front of the array and the backward wave from the back without ever meeting.
+    private final int[] queue;
+    private final int[] distance;
+    private final byte[] side;
+    private int forwardHead;
+    private int forwardTail;
+    private int backwardHead;
+    private int backwardTail;
+    private byte active;
+    private int levelRemaining;
+    private int bestForward;
+    private int bestBackward;
+    private int bestLength;
+
+    public BidirectionalLeeSolver(MazeGrid grid) {
+        super(grid);
+        queue = new int[grid.size()];
+        distance = new int[grid.size()];
+        side = new byte[grid.size()];
+    }
+
+    public BidirectionalLeeSolver(MazeGrid grid, int start, int goal) {
+        this(grid);
+        reset(start, goal);
+    }
+
+    @Override
+    protected void init() {
+        Arrays.fill(side, NONE);
+        forwardHead = 0;
+        forwardTail = 0;
+        backwardHead = queue.length - 1;
+        backwardTail = queue.length - 1;
+        levelRemaining = 0;
+        bestLength = Integer.MAX_VALUE;
+        if (start == goal) {
+            found = true;
+            return;
+        }
+        side[start] = FORWARD;
+        distance[start] = 0;
+        queue[forwardTail++] = start;
+        side[goal] = BACKWARD;
+        distance[goal] = 0;
+        parent[goal] = -1;
+        queue[backwardTail--] = goal;
+    }
+
+    @Override
+    protected boolean expand() {
+        if (levelRemaining == 0) {
+            if (bestLength != Integer.MAX_VALUE) {
+                join();
+                return true;
+            }
+            if (!nextLevel()) {
+                return false;
+            }
+        }
+        levelRemaining--;
+        current = active == FORWARD ? queue[forwardHead++] : queue[backwardHead--];
+        byte other = active == FORWARD ? BACKWARD : FORWARD;
+        int count = Neighbours.open(grid, current, neighbours);
+        for (int i = 0; i < count; i++) {
+            int c = neighbours[i];
+            if (side[c] == NONE) {
+                side[c] = active;
+                distance[c] = distance[current] + 1;
+                parent[c] = current;
+                if (active == FORWARD) {
+                    queue[forwardTail++] = c;
+                } else {
+                    queue[backwardTail--] = c;
+                }
+            } else if (side[c] == other && distance[current] + distance[c] + 1 < bestLength) {
+                bestLength = distance[current] + distance[c] + 1;
+                bestForward = active == FORWARD ? current : c;
+                bestBackward = active == FORWARD ? c : current;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int getPending() {
+        return forwardTail - forwardHead + backwardHead - backwardTail;
+    }
+
+    private boolean nextLevel() {
+        int forwardSize = forwardTail - forwardHead;
+        int backwardSize = backwardHead - backwardTail;
+        if (forwardSize == 0 || backwardSize == 0) {
+            return false;
+        }
+        active = forwardSize <= backwardSize ? FORWARD : BACKWARD;
+        levelRemaining = active == FORWARD ? forwardSize : backwardSize;
+        return true;
+    }
+
+    // The backward wave's parents point towards the goal; reversing that chain behind the
+    // meeting point leaves a single parent chain from the goal back to the start.
+    private void join() {
+        int previous = bestForward;
+        int cell = bestBackward;
+        while (cell != -1) {
+            int next = parent[cell];
+            parent[cell] = previous;
+            previous = cell;
+            cell = next;
+        }
+        found = true;
+        current = bestBackward;
+    }
+
+    public static class Provider extends BuiltInSolverProvider {
+
+        public Provider() {
+            super(SolvingAlgorithm.BIDIRECTIONAL_LEE);
+        }
+
+        @Override
+        public AbstractSolver create(MazeGrid grid) {
+            return new BidirectionalLeeSolver(grid);
+        }
+    }
+}
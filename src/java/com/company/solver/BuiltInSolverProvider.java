@@ -0,0 +1,20 @@
+package com.company.solver;
+
+public abstract class BuiltInSolverProvider implements SolverProvider {
+
+    private final SolvingAlgorithm algorithm;
+
+    protected BuiltInSolverProvider(SolvingAlgorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    @Override
+    public String getId() {
+        return algorithm.getId();
+    }
+
+    @Override
+    public String getName() {
+        return algorithm.toString();
+    }
+}
@@ -0,0 +1,120 @@
+package com.company.solver;
+
+import com.company.model.MazeGrid;
+
+import java.util.Arrays;
+
+// Breadth-first distances from the goal to every cell, together with the side each cell
+// leaves through to get one step closer to the goal. Built once, it gives the shortest path
+// from any entrance by following those sides, without searching again. A field belongs to
+// the walls it was built from: once the grid's wall version or the goal moves on it is no
+// longer valid.
+public class DistanceField {
+
+    private static final byte NO_SIDE = -1;
+    private static final byte GOAL = 4;
+
+    private final MazeGrid grid;
+    private final int goal;
+    private final long wallVersion;
+    private final int[] distance;
+    private final byte[] toGoal;
+
+    public DistanceField(MazeGrid grid, int goal) {
+        this(grid, goal, grid.getWallVersion());
+    }
+
+    // For builds off the thread that owns the grid: the version is the one the caller saw
+    // when it asked for the field, so walls changed since then make the field invalid.
+    public DistanceField(MazeGrid grid, int goal, long wallVersion) {
+        if (goal < 0 || goal >= grid.size()) {
+            throw new IllegalArgumentException(String.format("Goal outside the grid: %d", goal));
+        }
+        this.grid = grid;
+        this.goal = goal;
+        this.wallVersion = wallVersion;
+        distance = new int[grid.size()];
+        toGoal = new byte[grid.size()];
+        Arrays.fill(distance, -1);
+        Arrays.fill(toGoal, NO_SIDE);
+        flood();
+        distance[goal] = 0;
+    }
+
+    // Level by level, so distances are only ever written; the side bytes double as the
+    // visited set since they are a quarter the size. The right and bottom walls are read from
+    // the cell itself, the left and top ones from the neighbours that own them.
+    private void flood() {
+        int width = grid.getWidth();
+        int size = grid.size();
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        toGoal[goal] = GOAL;
+        queue[tail++] = goal;
+        for (int level = 1; head < tail; level++) {
+            int end = tail;
+            while (head < end) {
+                int cell = queue[head++];
+                int x = cell % width;
+                int next;
+                if (x < width - 1 && !grid.hasRightWall(cell) && toGoal[next = cell + 1] == NO_SIDE) {
+                    tail = reach(queue, tail, next, level, MazeGrid.LEFT);
+                }
+                if (cell < size - width && !grid.hasBottomWall(cell) && toGoal[next = cell + width] == NO_SIDE) {
+                    tail = reach(queue, tail, next, level, MazeGrid.TOP);
+                }
+                if (x > 0 && toGoal[next = cell - 1] == NO_SIDE && !grid.hasRightWall(next)) {
+                    tail = reach(queue, tail, next, level, MazeGrid.RIGHT);
+                }
+                if (cell >= width && toGoal[next = cell - width] == NO_SIDE && !grid.hasBottomWall(next)) {
+                    tail = reach(queue, tail, next, level, MazeGrid.BOTTOM);
+                }
+            }
+        }
+    }
+
+    private int reach(int[] queue, int tail, int cell, int level, int side) {
+        distance[cell] = level;
+        toGoal[cell] = (byte) side;
+        queue[tail] = cell;
+        return tail + 1;
+    }
+
+    public boolean isValid(MazeGrid grid, int goal) {
+        return this.grid == grid && this.goal == goal && wallVersion == grid.getWallVersion();
+    }
+
+    public long getWallVersion() {
+        return wallVersion;
+    }
+
+    public int getGoal() {
+        return goal;
+    }
+
+    // Number of moves to the goal, or -1 when the goal cannot be reached.
+    public int distance(int cell) {
+        return distance[cell];
+    }
+
+    // The neighbour one step closer to the goal, or -1 at the goal and for unreachable cells.
+    public int next(int cell) {
+        byte side = toGoal[cell];
+        return side == NO_SIDE || side == GOAL ? -1 : grid.neighbour(cell, side);
+    }
+
+    // Cells from start to goal inclusive, or an empty array when the goal cannot be reached.
+    public int[] path(int start) {
+        if (distance[start] == -1) {
+            return new int[0];
+        }
+        int[] path = new int[distance[start] + 1];
+        int cell = start;
+        for (int i = 0; i < path.length; i++) {
+            path[i] = cell;
+            cell = next(cell);
+        }
+        return path;
+    }
+}
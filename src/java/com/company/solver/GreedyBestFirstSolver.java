@@ -0,0 +1,32 @@
+package com.company.solver;
+
+import com.company.model.MazeGrid;
+
+public class GreedyBestFirstSolver extends AStarSolver {
+
+    public GreedyBestFirstSolver(MazeGrid grid) {
+        super(grid);
+    }
+
+    public GreedyBestFirstSolver(MazeGrid grid, int start, int goal) {
+        this(grid);
+        reset(start, goal);
+    }
+
+    @Override
+    protected int priority(int distance, int heuristic) {
+        return heuristic;
+    }
+
+    public static class Provider extends BuiltInSolverProvider {
+
+        public Provider() {
+            super(SolvingAlgorithm.GREEDY_BEST_FIRST);
+        }
+
+        @Override
+        public AbstractSolver create(MazeGrid grid) {
+            return new GreedyBestFirstSolver(grid);
+        }
+    }
+}
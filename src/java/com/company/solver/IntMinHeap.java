@@ -0,0 +1,100 @@
+package com.company.solver;
+
+import java.util.Arrays;
+
+public class IntMinHeap {
+
+    private final int[] heap;
+    private final int[] keys;
+    private final int[] position;
+    private int size;
+
+    public IntMinHeap(int capacity) {
+        heap = new int[capacity];
+        keys = new int[capacity];
+        position = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int cell) {
+        return position[cell] != -1;
+    }
+
+    public void push(int cell, int key) {
+        if (position[cell] != -1) {
+            if (key < keys[cell]) {
+                keys[cell] = key;
+                siftUp(position[cell]);
+            }
+            return;
+        }
+        keys[cell] = key;
+        heap[size] = cell;
+        position[cell] = size;
+        siftUp(size++);
+    }
+
+    public int pop() {
+        int top = heap[0];
+        position[top] = -1;
+        if (--size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int i) {
+        int cell = heap[i];
+        int key = keys[cell];
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            int up = heap[p];
+            if (keys[up] <= key) {
+                break;
+            }
+            heap[i] = up;
+            position[up] = i;
+            i = p;
+        }
+        heap[i] = cell;
+        position[cell] = i;
+    }
+
+    private void siftDown(int i) {
+        int cell = heap[i];
+        int key = keys[cell];
+        int half = size >>> 1;
+        while (i < half) {
+            int c = 2 * i + 1;
+            int r = c + 1;
+            if (r < size && keys[heap[r]] < keys[heap[c]]) {
+                c = r;
+            }
+            if (key <= keys[heap[c]]) {
+                break;
+            }
+            heap[i] = heap[c];
+            position[heap[i]] = i;
+            i = c;
+        }
+        heap[i] = cell;
+        position[cell] = i;
+    }
+}
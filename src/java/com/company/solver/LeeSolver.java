@@ -1,67 +1,96 @@
 package com.company.solver;
 
-import com.company.gui.Cell;
-import com.company.gui.MainFrame;
-import com.company.gui.MazeGridPanel;
+import com.company.model.MazeGrid;
+import com.company.model.Neighbours;
 
-import javax.swing.*;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Queue;
+import java.util.Arrays;
 
-public class LeeSolver {
+public class LeeSolver extends AbstractSolver {
 
-    private final Queue<Cell> queue = new LinkedList<>();
-    private final List<Cell> grid;
-    private final MazeGridPanel panel;
-    private final Cell start;
-    private final Cell goal;
-    private Cell current;
+    private final int[] queue;
+    private final int[] distance;
+    private int head;
+    private int tail;
+    private int queued;
 
-    public LeeSolver(List<Cell> grid, MazeGridPanel panel) {
-        this.grid = grid;
-        this.panel = panel;
-        start = panel.getStart();
-        goal = panel.getGoal();
-        current = start;
-        current.setDistance(0);
-        queue.offer(current);
+    public LeeSolver(MazeGrid grid) {
+        super(grid);
+        queue = new int[grid.size()];
+        distance = new int[grid.size()];
     }
 
-    public void solve() {
-        final Timer timer = new Timer(MainFrame.speed, null);
-        timer.addActionListener(e -> {
-            if (!current.equals(goal)) {
-                flood();
-            } else {
-                drawPath();
-                MainFrame.setSolved(true);
-                timer.stop();
-            }
-            panel.setCurrent(current);
-            panel.repaint();
-            timer.setDelay(MainFrame.speed);
-        });
-        timer.start();
+    public LeeSolver(MazeGrid grid, int start, int goal) {
+        this(grid);
+        reset(start, goal);
+    }
+
+    @Override
+    protected void init() {
+        Arrays.fill(distance, -1);
+        head = 0;
+        tail = 0;
+        queued = 0;
+        distance[start] = 0;
+        offer(start);
     }
 
-    private void flood() {
-        current.setDeadEnd(true);
-        current = queue.poll();
-        List<Cell> adjacentCells = current.getValidMoveNeighbours(grid);
-        for (Cell c : adjacentCells) {
-            if (c.getDistance() == -1) {
-                c.setDistance(current.getDistance() + 1);
-                c.setParent(current);
-                queue.offer(c);
+    @Override
+    protected boolean expand() {
+        if (queued == 0) {
+            return false;
+        }
+        current = poll();
+        if (current == goal) {
+            found = true;
+            return true;
+        }
+        int count = Neighbours.open(grid, current, neighbours);
+        for (int i = 0; i < count; i++) {
+            int c = neighbours[i];
+            if (distance[c] == -1) {
+                distance[c] = distance[current] + 1;
+                parent[c] = current;
+                offer(c);
             }
         }
+        return true;
+    }
+
+    @Override
+    public int getPending() {
+        return queued;
+    }
+
+    public int getDistance(int cell) {
+        return distance[cell];
+    }
+
+    private void offer(int cell) {
+        queue[tail] = cell;
+        if (++tail == queue.length) {
+            tail = 0;
+        }
+        queued++;
     }
 
-    private void drawPath() {
-        while (current != start) {
-            current.setPath(true);
-            current = current.getParent();
+    private int poll() {
+        int cell = queue[head];
+        if (++head == queue.length) {
+            head = 0;
+        }
+        queued--;
+        return cell;
+    }
+
+    public static class Provider extends BuiltInSolverProvider {
+
+        public Provider() {
+            super(SolvingAlgorithm.LEE);
+        }
+
+        @Override
+        public AbstractSolver create(MazeGrid grid) {
+            return new LeeSolver(grid);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,184 @@
+package com.company.solver;
+
+import com.company.model.MazeGrid;
+import com.company.model.Neighbours;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Each step expands one whole BFS level. Cells are claimed through a CAS on a shared
+// visited bitset, so a cell's distance and parent are written once by whichever task
+// reached it first. Distances always match LeeSolver; in a perfect maze the path is
+// unique, so the path matches as well.
+public class ParallelLeeSolver extends AbstractSolver {
+
+    public static final int DEFAULT_CHUNK = 2048;
+
+    private final ForkJoinPool pool;
+    private final int chunk;
+    private final AtomicLongArray visited;
+    private final AtomicInteger nextSize = new AtomicInteger();
+    private final ThreadLocal<Buffers> buffers;
+    private final int[] distance;
+    private int[] level;
+    private int[] next;
+    private int[] expandedLevel;
+    private int levelSize;
+    private int expandedSize;
+
+    public ParallelLeeSolver(MazeGrid grid) {
+        this(grid, ForkJoinPool.commonPool(), DEFAULT_CHUNK);
+    }
+
+    public ParallelLeeSolver(MazeGrid grid, ForkJoinPool pool, int chunk) {
+        super(grid);
+        this.pool = pool;
+        this.chunk = chunk;
+        buffers = ThreadLocal.withInitial(() -> new Buffers(chunk));
+        visited = new AtomicLongArray((grid.size() + 63) >>> 6);
+        distance = new int[grid.size()];
+        level = new int[grid.size()];
+        next = new int[grid.size()];
+    }
+
+    public ParallelLeeSolver(MazeGrid grid, int start, int goal) {
+        this(grid);
+        reset(start, goal);
+    }
+
+    @Override
+    protected void init() {
+        for (int i = 0; i < visited.length(); i++) {
+            visited.set(i, 0);
+        }
+        Arrays.fill(distance, -1);
+        claim(start);
+        distance[start] = 0;
+        level[0] = start;
+        levelSize = 1;
+        expandedSize = 0;
+    }
+
+    @Override
+    protected boolean expand() {
+        if (levelSize == 0) {
+            return false;
+        }
+        nextSize.set(0);
+        if (levelSize <= chunk) {
+            expandRange(0, levelSize);
+        } else {
+            pool.invoke(new LevelTask());
+        }
+        expandedLevel = level;
+        level = next;
+        next = expandedLevel;
+        expandedSize = levelSize;
+        levelSize = nextSize.get();
+        current = expandedLevel[expandedSize - 1];
+        if (distance[goal] != -1) {
+            found = true;
+            current = goal;
+        }
+        return true;
+    }
+
+    @Override
+    protected void reportStep() {
+        for (int i = 0; i < expandedSize; i++) {
+            report(expandedLevel[i]);
+        }
+    }
+
+    @Override
+    public int getPending() {
+        return levelSize;
+    }
+
+    public int getDistance(int cell) {
+        return distance[cell];
+    }
+
+    // Ranges are at most one chunk long, which is what each thread's buffers are sized for.
+    private void expandRange(int from, int to) {
+        Buffers buffers = this.buffers.get();
+        int[] open = buffers.neighbours;
+        int[] claimed = buffers.claimed;
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int cell = level[i];
+            int n = Neighbours.open(grid, cell, open);
+            for (int j = 0; j < n; j++) {
+                int c = open[j];
+                if (claim(c)) {
+                    distance[c] = distance[cell] + 1;
+                    parent[c] = cell;
+                    claimed[count++] = c;
+                }
+            }
+        }
+        int offset = nextSize.getAndAdd(count);
+        System.arraycopy(claimed, 0, next, offset, count);
+    }
+
+    private boolean claim(int cell) {
+        int i = cell >>> 6;
+        long bit = 1L << cell;
+        long word;
+        do {
+            word = visited.get(i);
+            if ((word & bit) != 0) {
+                return false;
+            }
+        } while (!visited.compareAndSet(i, word, word | bit));
+        return true;
+    }
+
+    // Scratch space each pool thread keeps across chunks and levels.
+    private static class Buffers {
+
+        final int[] neighbours = new int[Neighbours.MAX];
+        final int[] claimed;
+
+        Buffers(int chunk) {
+            claimed = new int[chunk * Neighbours.MAX];
+        }
+    }
+
+    private class LevelTask extends RecursiveAction {
+
+        @Override
+        protected void compute() {
+            List<RecursiveAction> chunks = new ArrayList<>();
+            for (int from = 0; from < levelSize; from += chunk) {
+                final int start = from;
+                final int end = Math.min(from + chunk, levelSize);
+                chunks.add(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        expandRange(start, end);
+                    }
+                });
+            }
+            ForkJoinTask.invokeAll(chunks);
+        }
+    }
+
+    public static class Provider extends BuiltInSolverProvider {
+
+        public Provider() {
+            super(SolvingAlgorithm.PARALLEL_LEE);
+        }
+
+        @Override
+        public AbstractSolver create(MazeGrid grid) {
+            return new ParallelLeeSolver(grid);
+        }
+    }
+}
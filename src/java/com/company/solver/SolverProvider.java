@@ -0,0 +1,9 @@
+package com.company.solver;
+
+import com.company.engine.EngineProvider;
+import com.company.model.MazeGrid;
+
+public interface SolverProvider extends EngineProvider {
+
+    AbstractSolver create(MazeGrid grid);
+}
@@ -0,0 +1,25 @@
+package com.company.solver;
+
+import com.company.engine.ProviderRegistry;
+
+import java.util.List;
+
+public final class Solvers {
+
+    private static final ProviderRegistry<SolverProvider> REGISTRY = new ProviderRegistry<>(SolverProvider.class);
+
+    private Solvers() {
+    }
+
+    public static List<SolverProvider> all() {
+        return REGISTRY.all();
+    }
+
+    public static SolverProvider get(String id) {
+        return REGISTRY.get(id);
+    }
+
+    public static SolverProvider get(SolvingAlgorithm algorithm) {
+        return REGISTRY.get(algorithm.getId());
+    }
+}
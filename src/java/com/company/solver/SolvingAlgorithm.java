@@ -2,14 +2,24 @@ package com.company.solver;
 
 public enum SolvingAlgorithm {
 
-    LEE("Волновой");
+    LEE("lee", "Волновой"),
+    BIDIRECTIONAL_LEE("bidirectional-lee", "Двунаправленный волновой"),
+    A_STAR("a-star", "A*"),
+    GREEDY_BEST_FIRST("greedy-best-first", "Жадный поиск"),
+    PARALLEL_LEE("parallel-lee", "Параллельный волновой");
 
+    private final String id;
     private final String alg;
 
-    SolvingAlgorithm(String alg) {
+    SolvingAlgorithm(String id, String alg) {
+        this.id = id;
         this.alg = alg;
     }
 
+    public String getId() {
+        return id;
+    }
+
     @Override
     public String toString() {
         return alg;
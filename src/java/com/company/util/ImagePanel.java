@@ -7,6 +7,14 @@ public class ImagePanel extends JPanel {
 
     private Image img;
 
+    public Image getImage() {
+        return img;
+    }
+
+    public void setImage(Image img) {
+        this.img = img;
+    }
+
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
@@ -0,0 +1,73 @@
+package com.company.gui;
+
+import com.company.model.MazeGrid;
+import com.company.solver.DistanceField;
+import com.company.solver.Solvers;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MazeGridPanelTest {
+
+    private static final int SIZE = 15;
+    private static final long TIMEOUT = TimeUnit.SECONDS.toNanos(10);
+
+    // With every inner wall gone there are many routes, and the greedy solver's one is not
+    // the one the distance field walks; moving the entrance must still leave only the new path.
+    @Test
+    public void solveFromReplacesPathOfAnotherSolver() throws Exception {
+        MazeGrid grid = new MazeGrid(SIZE, SIZE);
+        for (int cell = 0; cell < grid.size(); cell++) {
+            if (grid.x(cell) < SIZE - 1) {
+                grid.removeWall(cell, MazeGrid.RIGHT);
+            }
+            if (grid.y(cell) < SIZE - 1) {
+                grid.removeWall(cell, MazeGrid.BOTTOM);
+            }
+        }
+        grid.setAllVisited(true);
+        MazeGridPanel[] holder = new MazeGridPanel[1];
+        onEdt(() -> {
+            MazeSession session = new MazeSession(SIZE, SIZE, MazeSession.State.GENERATED);
+            session.setSpeed(0);
+            holder[0] = new MazeGridPanel(grid, 0, grid.size() - 1, session);
+        });
+        MazeGridPanel panel = holder[0];
+        onEdt(() -> assertTrue(panel.solve(Solvers.get("greedy-best-first"), solver -> {
+        })));
+        await(() -> panel.getSession().is(MazeSession.State.SOLVED), "solve");
+
+        int entrance = grid.index(SIZE - 1, 0);
+        onEdt(() -> assertTrue(panel.solveFrom(new Cell(grid, entrance))));
+        await(() -> panel.getStart().getId() == entrance, "new entrance");
+
+        int[] expected = new DistanceField(grid, grid.size() - 1).path(entrance);
+        int marked = 0;
+        for (int cell = grid.nextPath(0); cell != -1; cell = grid.nextPath(cell + 1)) {
+            marked++;
+        }
+        assertEquals(expected.length, marked);
+        for (int cell : expected) {
+            assertTrue(grid.isPath(cell), String.format("Cell %d is not marked", cell));
+        }
+    }
+
+    private static void onEdt(Runnable task) throws Exception {
+        SwingUtilities.invokeAndWait(task);
+    }
+
+    private static void await(BooleanSupplier condition, String what) throws Exception {
+        long end = System.nanoTime() + TIMEOUT;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < end, String.format("Timed out waiting for %s", what));
+            Thread.sleep(5);
+        }
+        onEdt(() -> {
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package com.company.gui;
+
+import com.company.generator.Generators;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReplayPanelTest {
+
+    private static final int SIZE = 17;
+    private static final long TIMEOUT = TimeUnit.SECONDS.toNanos(10);
+    private static final int REFRESH_MILLIS = 100;
+
+    @Test
+    public void refreshDuringGenerationLeavesMazeGenerated() throws Exception {
+        generateWhileRefreshing(0);
+    }
+
+    @Test
+    public void refreshDuringAnimatedGenerationLeavesMazeGenerated() throws Exception {
+        generateWhileRefreshing(1);
+    }
+
+    @Test
+    public void movingSliderSeeksAndEndLeavesReplay() throws Exception {
+        MazeGridPanel panel = generateWhileRefreshing(0);
+        ReplayPanel controls = new ReplayPanel(() -> panel, () -> {
+        });
+        onEdt(controls::refresh);
+        onEdt(() -> controls.getSlider().setValue(panel.getReplaySteps() / 2));
+        assertEquals(MazeSession.State.REPLAYING, panel.getSession().getState());
+        assertEquals(panel.getReplaySteps() / 2, panel.getReplayStep());
+
+        onEdt(() -> controls.getSlider().setValue(panel.getReplaySteps()));
+        onEdt(controls::refresh);
+        assertEquals(MazeSession.State.GENERATED, panel.getSession().getState());
+    }
+
+    // Ticks the refresh at the rate of MainFrame's timer, from before the run to after it,
+    // so the slider still holds a position from the run when the run ends.
+    private static MazeGridPanel generateWhileRefreshing(int speed) throws Exception {
+        MazeGridPanel[] holder = new MazeGridPanel[1];
+        onEdt(() -> {
+            MazeSession session = new MazeSession(SIZE, SIZE, MazeSession.State.EMPTY);
+            session.setSpeed(speed);
+            holder[0] = new MazeGridPanel(SIZE, SIZE, session);
+        });
+        MazeGridPanel panel = holder[0];
+        ReplayPanel controls = new ReplayPanel(() -> panel, () -> {
+        });
+        onEdt(controls::refresh);
+        onEdt(() -> assertTrue(panel.generate(Generators.get("prim"))));
+        long end = System.nanoTime() + TIMEOUT;
+        while (!panel.getSession().is(MazeSession.State.GENERATED)) {
+            assertTrue(System.nanoTime() < end, String.format("Still %s at %d/%d", panel.getSession().getState(),
+                    panel.getReplayStep(), panel.getReplaySteps()));
+            Thread.sleep(REFRESH_MILLIS);
+            onEdt(controls::refresh);
+        }
+        for (int i = 0; i < 3; i++) {
+            onEdt(controls::refresh);
+        }
+        assertEquals(MazeSession.State.GENERATED, panel.getSession().getState());
+        assertEquals(panel.getReplaySteps(), controls.getSlider().getValue());
+        return panel;
+    }
+
+    private static void onEdt(Runnable task) throws Exception {
+        SwingUtilities.invokeAndWait(task);
+    }
+}
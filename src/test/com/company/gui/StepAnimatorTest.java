@@ -0,0 +1,220 @@
+package com.company.gui;
+
+import com.company.engine.EngineListener;
+import com.company.generator.GeneratorProvider;
+import com.company.generator.Generators;
+import com.company.generator.MazeGenerator;
+import com.company.generator.StreamingGeneratorProvider;
+import com.company.model.MazeGrid;
+import com.company.solver.AbstractSolver;
+import com.company.solver.LeeSolver;
+import com.company.solver.SolverProvider;
+import com.company.solver.Solvers;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StepAnimatorTest {
+
+    private static final int SIZE = 15;
+    private static final long TIMEOUT = TimeUnit.SECONDS.toNanos(10);
+
+    @Test
+    public void failedGenerationReturnsToEmpty() throws Exception {
+        MazeGridPanel panel = panel(0);
+        onEdt(() -> assertTrue(panel.generate(new FailingGenerator())));
+        await(panel, MazeSession.State.EMPTY);
+
+        MazeGrid grid = panel.getGrid();
+        for (int cell = 0; cell < grid.size(); cell++) {
+            assertEquals(0xF, grid.wallMask(cell));
+            assertFalse(grid.isVisited(cell));
+        }
+        onEdt(() -> assertTrue(panel.generate(Generators.get("prim"))));
+        await(panel, MazeSession.State.GENERATED);
+    }
+
+    @Test
+    public void failedSolveReturnsToGenerated() throws Exception {
+        MazeGridPanel panel = panel(0);
+        onEdt(() -> assertTrue(panel.generate(Generators.get("prim"))));
+        await(panel, MazeSession.State.GENERATED);
+
+        onEdt(() -> assertTrue(panel.solve(new FailingSolver(), solver -> {
+        })));
+        await(panel, MazeSession.State.GENERATED);
+        MazeGrid grid = panel.getGrid();
+        for (int cell = 0; cell < grid.size(); cell++) {
+            assertFalse(grid.isDeadEnd(cell));
+            assertFalse(grid.isPath(cell));
+        }
+        onEdt(() -> assertTrue(panel.solve(Solvers.get("lee"), solver -> {
+        })));
+        await(panel, MazeSession.State.SOLVED);
+    }
+
+    @Test
+    public void cancelledGenerationReturnsToEmpty() throws Exception {
+        MazeGridPanel panel = panel(100);
+        onEdt(() -> assertTrue(panel.generate(Generators.get("prim"))));
+        onEdt(panel::removeNotify);
+        await(panel, MazeSession.State.EMPTY);
+    }
+
+    @Test
+    public void unreadableStreamedMazeReturnsToEmpty() throws Exception {
+        MazeGridPanel panel = panel(0);
+        onEdt(() -> assertTrue(panel.generate(new LostRowsGenerator())));
+        await(panel, MazeSession.State.EMPTY);
+
+        MazeGrid grid = panel.getGrid();
+        for (int cell = 0; cell < grid.size(); cell++) {
+            assertEquals(0xF, grid.wallMask(cell));
+            assertFalse(grid.isVisited(cell));
+        }
+    }
+
+    private static MazeGridPanel panel(int speed) throws Exception {
+        MazeGridPanel[] panel = new MazeGridPanel[1];
+        onEdt(() -> {
+            MazeSession session = new MazeSession(SIZE, SIZE, MazeSession.State.EMPTY);
+            session.setSpeed(speed);
+            panel[0] = new MazeGridPanel(SIZE, SIZE, session);
+        });
+        return panel[0];
+    }
+
+    private static void onEdt(Runnable task) throws Exception {
+        SwingUtilities.invokeAndWait(task);
+    }
+
+    private static void await(MazeGridPanel panel, MazeSession.State state) throws InterruptedException {
+        long end = System.nanoTime() + TIMEOUT;
+        while (!panel.getSession().is(state)) {
+            assertTrue(System.nanoTime() < end, String.format("Still %s, expected %s",
+                    panel.getSession().getState(), state));
+            Thread.sleep(5);
+        }
+    }
+
+    // Streams Eller's rows into nowhere, so the file it was given cannot be read back.
+    private static class LostRowsGenerator implements StreamingGeneratorProvider {
+
+        @Override
+        public String getId() {
+            return "lost-rows";
+        }
+
+        @Override
+        public String getName() {
+            return "lost-rows";
+        }
+
+        @Override
+        public MazeGenerator create(MazeGrid grid, int start, long seed) {
+            return Generators.get("eller").create(grid, start, seed);
+        }
+
+        @Override
+        public MazeGenerator create(int width, int height, int start, int goal, long seed, OutputStream out)
+                throws IOException {
+            return ((StreamingGeneratorProvider) Generators.get("eller")).create(width, height, start, goal, seed,
+                    new OutputStream() {
+                        @Override
+                        public void write(int b) {
+                        }
+                    });
+        }
+    }
+
+    // Carves a couple of walls and then breaks.
+    private static class FailingGenerator implements GeneratorProvider {
+
+        @Override
+        public String getId() {
+            return "failing";
+        }
+
+        @Override
+        public String getName() {
+            return "failing";
+        }
+
+        @Override
+        public MazeGenerator create(MazeGrid grid, int start, long seed) {
+            MazeGenerator prim = Generators.get("prim").create(grid, start, seed);
+            return new MazeGenerator() {
+                private int steps;
+
+                @Override
+                public MazeGrid generate() {
+                    run();
+                    return grid;
+                }
+
+                @Override
+                public double getProgress() {
+                    return prim.getProgress();
+                }
+
+                @Override
+                public boolean step() {
+                    if (++steps > 3) {
+                        throw new IllegalStateException("broken generator");
+                    }
+                    return prim.step();
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return false;
+                }
+
+                @Override
+                public int getCurrent() {
+                    return prim.getCurrent();
+                }
+
+                @Override
+                public void setListener(EngineListener listener) {
+                    prim.setListener(listener);
+                }
+            };
+        }
+    }
+
+    private static class FailingSolver implements SolverProvider {
+
+        @Override
+        public String getId() {
+            return "failing";
+        }
+
+        @Override
+        public String getName() {
+            return "failing";
+        }
+
+        @Override
+        public AbstractSolver create(MazeGrid grid) {
+            return new LeeSolver(grid) {
+                private int expansions;
+
+                @Override
+                protected boolean expand() {
+                    if (++expansions > 3) {
+                        throw new IllegalStateException("broken solver");
+                    }
+                    return super.expand();
+                }
+            };
+        }
+    }
+}